@@ -0,0 +1,70 @@
+package com.numberrange.benchmark;
+
+import com.numberrange.BatchSummarizer;
+import com.numberrange.NumberRangeSummarizerImpl;
+import com.numberrange.benchmark.BenchmarkData.Distribution;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Many short independent lines: the per-line loop over the two-step pipeline
+ * versus {@link BatchSummarizer#summarizeAll(List)}.
+ *
+ * @author Keuran Kisten
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BatchBenchmark {
+
+    @Param({"100000"})
+    private int lines;
+
+    @Param({"20"})
+    private int valuesPerLine;
+
+    private final NumberRangeSummarizerImpl summarizer = new NumberRangeSummarizerImpl();
+    private final BatchSummarizer batch = new BatchSummarizer();
+    private List<String> inputs;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        inputs = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            Distribution distribution = Distribution.values()[i % Distribution.values().length];
+            // A seed per line, so lines are distinct like real records rather than a few repeated strings
+            inputs.add(BenchmarkData.generate(distribution, valuesPerLine, i).text());
+        }
+    }
+
+    @Benchmark
+    public List<String> loop() {
+        List<String> results = new ArrayList<>(inputs.size());
+        for (String line : inputs) {
+            results.add(summarizer.summarizeCollection(summarizer.collect(line)));
+        }
+        return results;
+    }
+
+    @Benchmark
+    public List<String> summarizeAll() {
+        return batch.summarizeAll(inputs);
+    }
+}
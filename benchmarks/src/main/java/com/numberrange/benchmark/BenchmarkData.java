@@ -0,0 +1,136 @@
+package com.numberrange.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates reproducible benchmark inputs of a given size and shape.
+ * 
+ * @author Keuran Kisten
+ */
+public final class BenchmarkData {
+
+    /**
+     * Shapes of input seen in production feeds.
+     */
+    public enum Distribution {
+        /** Unsorted values packed into a narrow band: few, long ranges */
+        DENSE,
+        /** Unsorted values spread thinly: mostly single numbers */
+        SPARSE,
+        /** Uniformly random over the whole int range, negatives included */
+        RANDOM,
+        /** Ascending sequence-number style export with occasional gaps */
+        SORTED,
+        /** Each value repeated about a hundred times */
+        DUPLICATES,
+        /** Dense values with roughly 40% invalid tokens mixed in */
+        JUNK
+    }
+
+    private static final long SEED = 20240101L;
+    private static final String[] JUNK_TOKENS = {"abc", "n/a", "2.5", " ", "99999999999", "-", "id#7"};
+
+    private final String text;
+    private final List<Integer> numbers;
+
+    private BenchmarkData(String text, List<Integer> numbers) {
+        this.text = text;
+        this.numbers = numbers;
+    }
+
+    /**
+     * @param distribution shape of the values
+     * @param size number of tokens to generate
+     */
+    public static BenchmarkData generate(Distribution distribution, int size) {
+        return generate(distribution, size, SEED, 0);
+    }
+
+    /**
+     * Like {@link #generate(Distribution, int)}, but with different values for every seed,
+     * for benchmarks that need many distinct inputs of the same shape. Seeds below a
+     * million give distinct inputs even for short sorted or duplicate-heavy ones.
+     * 
+     * @param distribution shape of the values
+     * @param size number of tokens to generate
+     * @param seed seed of the random values
+     */
+    public static BenchmarkData generate(Distribution distribution, int size, long seed) {
+        // Short sorted or duplicate-heavy inputs hardly vary with the random values, so they
+        // also start at an offset of their own, far enough apart that they cannot overlap
+        int base = (int) Math.floorMod(seed, 1_000_000L) * 1000;
+        return generate(distribution, size, seed, base);
+    }
+
+    private static BenchmarkData generate(Distribution distribution, int size, long seed, int base) {
+        Random random = new Random(seed);
+        StringBuilder text = new StringBuilder(size * 8);
+        List<Integer> numbers = new ArrayList<>(size);
+        int next = 1_000_000 + base;
+        
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                text.append(',');
+            }
+            
+            int value;
+            switch (distribution) {
+                case DENSE:
+                    value = 1_000_000 + random.nextInt(size + size / 10 + 1);
+                    break;
+                case SPARSE:
+                    value = random.nextInt((int) Math.min(Math.max(size, 1) * 1000L, Integer.MAX_VALUE));
+                    break;
+                case RANDOM:
+                    value = random.nextInt();
+                    break;
+                case SORTED:
+                    next += random.nextInt(50) == 0 ? 2 + random.nextInt(10) : 1;
+                    value = next;
+                    break;
+                case DUPLICATES:
+                    value = base + random.nextInt(size / 100 + 1);
+                    break;
+                case JUNK:
+                    if (random.nextInt(10) < 4) {
+                        text.append(JUNK_TOKENS[random.nextInt(JUNK_TOKENS.length)]);
+                        continue;
+                    }
+                    value = random.nextInt(size + 1);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown distribution: " + distribution);
+            }
+            text.append(value);
+            numbers.add(value);
+        }
+        return new BenchmarkData(text.toString(), numbers);
+    }
+
+    /**
+     * @return comma-separated input text
+     */
+    public String text() {
+        return text;
+    }
+
+    /**
+     * @return the valid values in input order (unsorted, with duplicates)
+     */
+    public List<Integer> numbers() {
+        return numbers;
+    }
+
+    /**
+     * @return the valid values in input order as a primitive array
+     */
+    public int[] values() {
+        int[] values = new int[numbers.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = numbers.get(i);
+        }
+        return values;
+    }
+}
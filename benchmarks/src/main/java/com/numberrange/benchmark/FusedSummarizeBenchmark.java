@@ -0,0 +1,66 @@
+package com.numberrange.benchmark;
+
+import com.numberrange.NumberRangeSummarizerImpl;
+import com.numberrange.benchmark.BenchmarkData.Distribution;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the fused {@code summarize(String)} with {@code collect} followed by
+ * {@code summarizeCollection} on the same text.
+ * 
+ * Sizes stay below the 100,000 character limit of the String entry points for
+ * every distribution, so both benchmarks always take their String path.
+ * 
+ * @author Keuran Kisten
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class FusedSummarizeBenchmark {
+
+    private static final int MAX_STRING_INPUT = 100_000;
+
+    @Param({"10", "1000", "5000"})
+    private int size;
+
+    @Param({"DENSE", "SPARSE", "RANDOM", "SORTED", "DUPLICATES", "JUNK"})
+    private Distribution distribution;
+
+    private NumberRangeSummarizerImpl summarizer;
+    private String text;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        text = BenchmarkData.generate(distribution, size).text();
+        if (text.length() > MAX_STRING_INPUT) {
+            throw new IllegalStateException("Input of " + text.length() + " characters exceeds the String limit");
+        }
+        summarizer = new NumberRangeSummarizerImpl();
+    }
+
+    @Benchmark
+    public String summarize() {
+        return summarizer.summarize(text);
+    }
+
+    @Benchmark
+    public String pipeline() {
+        return summarizer.summarizeCollection(summarizer.collect(text));
+    }
+}
@@ -0,0 +1,57 @@
+package com.numberrange.benchmark;
+
+import com.numberrange.NumberRangeSummarizerImpl;
+import com.numberrange.SortStrategy;
+import com.numberrange.benchmark.BenchmarkData.Distribution;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the sort/dedupe strategies on the primitive entry point,
+ * {@code summarize(int[], int)}, which copies, sorts, de-duplicates and renders.
+ * 
+ * @author Keuran Kisten
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SortStrategyBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    private int size;
+
+    @Param({"DENSE", "SPARSE", "RANDOM", "SORTED", "DUPLICATES"})
+    private Distribution distribution;
+
+    @Param({"PRESORTED", "COMPARISON", "RADIX", "BITMAP"})
+    private SortStrategy strategy;
+
+    private NumberRangeSummarizerImpl summarizer;
+    private int[] values;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        values = BenchmarkData.generate(distribution, size).values();
+        summarizer = NumberRangeSummarizerImpl.builder().sortStrategy(strategy).build();
+    }
+
+    @Benchmark
+    public String summarize() {
+        return summarizer.summarize(values, values.length);
+    }
+}
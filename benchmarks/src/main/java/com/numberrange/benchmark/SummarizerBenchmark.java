@@ -0,0 +1,100 @@
+package com.numberrange.benchmark;
+
+import com.numberrange.NumberRangeSummarizerImpl;
+import com.numberrange.benchmark.BenchmarkData.Distribution;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and average time of the public pipeline across sizes and input shapes.
+ * 
+ * Run with {@code -prof gc} to also report the allocation rate per operation.
+ * 
+ * The String entry points reject inputs over 100,000 characters, so for larger
+ * sizes {@link #collect()} and {@link #pipeline()} read the same text through
+ * {@code collectFrom(Reader)}; {@link #collectReader()} always does, which makes the
+ * streaming path comparable across all sizes. The fused {@code summarize(String)}
+ * has no such fallback and is measured by {@link FusedSummarizeBenchmark}.
+ * 
+ * @author Keuran Kisten
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SummarizerBenchmark {
+
+    private static final int MAX_STRING_INPUT = 100_000;
+
+    @Param({"10", "1000", "100000", "10000000"})
+    private int size;
+
+    @Param({"DENSE", "SPARSE", "RANDOM", "SORTED", "DUPLICATES", "JUNK"})
+    private Distribution distribution;
+
+    private NumberRangeSummarizerImpl summarizer;
+    private String text;
+    private List<Integer> numbers;
+    private Collection<Integer> collected;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        BenchmarkData data = BenchmarkData.generate(distribution, size);
+        summarizer = new NumberRangeSummarizerImpl();
+        text = data.text();
+        numbers = data.numbers();
+        collected = collect();
+    }
+
+    @Benchmark
+    public Collection<Integer> collect() throws IOException {
+        if (text.length() <= MAX_STRING_INPUT) {
+            return summarizer.collect(text);
+        }
+        return summarizer.collectFrom(new StringReader(text));
+    }
+
+    @Benchmark
+    public Collection<Integer> collectReader() throws IOException {
+        return summarizer.collectFrom(new StringReader(text));
+    }
+
+    /**
+     * Summarizes a plain unsorted {@code ArrayList<Integer>} with duplicates.
+     */
+    @Benchmark
+    public String summarizeCollection() {
+        return summarizer.summarizeCollection(numbers);
+    }
+
+    /**
+     * Summarizes the output of {@code collect}, which is already sorted and unique.
+     */
+    @Benchmark
+    public String summarizeCollected() {
+        return summarizer.summarizeCollection(collected);
+    }
+
+    @Benchmark
+    public String pipeline() throws IOException {
+        return summarizer.summarizeCollection(collect());
+    }
+}
@@ -0,0 +1,206 @@
+package com.numberrange;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.RandomAccess;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Summarizes many independent inputs concurrently.
+ *
+ * Each input gets the same result as {@code summarize(CharSequence)}. Inputs
+ * are grouped into chunks and every chunk runs as one task on the executor,
+ * so per-input dispatch cost is amortised. A task borrows a scratch buffer
+ * and scanner from a shared pool and reuses them for every input in its
+ * chunk, so short inputs allocate little more than their result String.
+ * The pool keeps at most two scratches per core. A 100,000-character input
+ * holds at most 50,000 values, so each scratch buffer grows to about 200 KB
+ * and a full pool holds about 400 KB per core.
+ * Results always come back in input order.
+ *
+ * Small batches run on the calling thread. Thread-safe: one instance can
+ * serve concurrent batches.
+ *
+ * @author Keuran Kisten
+ */
+public final class BatchSummarizer {
+
+    private static final int MIN_CHUNK_SIZE = 16;
+    static final int MAX_CHUNK_SIZE = 1024;
+    // Several chunks per core keep workers busy when inputs differ in length
+    private static final int CHUNKS_PER_CORE = 4;
+
+    private final NumberRangeSummarizerImpl summarizer;
+    private final Executor executor;
+    private final int parallelism;
+    private final Queue<Scratch> scratchPool = new ConcurrentLinkedQueue<>();
+    // Counted separately, since ConcurrentLinkedQueue.size() walks the queue
+    private final AtomicInteger pooled = new AtomicInteger();
+    private final int maxPooled;
+
+    /**
+     * Creates a batch summarizer with default settings. Chunks run on virtual threads
+     * on Java 21+, otherwise on the common {@code ForkJoinPool}; see {@link TaskExecutors}.
+     */
+    public BatchSummarizer() {
+        this(new NumberRangeSummarizerImpl(), TaskExecutors.sharedExecutor());
+    }
+
+    /**
+     * @param summarizer summarizer that defines parsing, sorting and formatting
+     * @param executor executor the chunks run on
+     */
+    public BatchSummarizer(NumberRangeSummarizerImpl summarizer, Executor executor) {
+        if (summarizer == null) {
+            throw new IllegalArgumentException("Summarizer must not be null");
+        }
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor must not be null");
+        }
+        this.summarizer = summarizer;
+        this.executor = executor;
+        this.parallelism = Runtime.getRuntime().availableProcessors();
+        // Enough for every task the streaming variant keeps in flight
+        this.maxPooled = 2 * parallelism;
+    }
+
+    /**
+     * Summarizes every input; {@code result.get(i)} is the summary of {@code inputs.get(i)}.
+     *
+     * @param inputs comma-separated integers per element; null elements give an empty string
+     * @return summaries in input order; empty list if inputs is null/empty
+     * @throws IllegalArgumentException if an input exceeds the maximum allowed size
+     */
+    public List<String> summarizeAll(List<? extends CharSequence> inputs) {
+        if (inputs == null || inputs.isEmpty()) {
+            return Collections.emptyList();
+        }
+        // Chunks index into the list
+        List<? extends CharSequence> list = inputs instanceof RandomAccess ? inputs : new ArrayList<>(inputs);
+
+        int size = list.size();
+        String[] results = new String[size];
+        int chunkSize = Math.min(MAX_CHUNK_SIZE,
+                                 Math.max(MIN_CHUNK_SIZE, size / (parallelism * CHUNKS_PER_CORE)));
+        if (size <= chunkSize) {
+            summarizeChunk(list, 0, size, results);
+            return Arrays.asList(results);
+        }
+
+        List<CompletableFuture<Void>> chunks = new ArrayList<>((size + chunkSize - 1) / chunkSize);
+        for (int from = 0; from < size; from += chunkSize) {
+            int start = from;
+            int end = Math.min(size, from + chunkSize);
+            chunks.add(CompletableFuture.runAsync(() -> summarizeChunk(list, start, end, results), executor));
+        }
+        TaskExecutors.await(CompletableFuture.allOf(chunks.toArray(new CompletableFuture<?>[0])));
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Streaming variant for batches too large to hold in memory: inputs are read in
+     * chunks, at most two chunks per core are in flight at once, and results are
+     * passed to the consumer in input order on the calling thread.
+     *
+     * @param inputs comma-separated integers per element; null elements give an empty string
+     * @param results receives one summary per input, in input order
+     * @throws IllegalArgumentException if results is null or an input exceeds the maximum allowed size
+     */
+    public void summarizeAll(Iterable<? extends CharSequence> inputs, Consumer<? super String> results) {
+        if (results == null) {
+            throw new IllegalArgumentException("Result consumer must not be null");
+        }
+        if (inputs == null) {
+            return;
+        }
+
+        int maxInFlight = 2 * parallelism;
+        ArrayDeque<CompletableFuture<String[]>> inFlight = new ArrayDeque<>(maxInFlight);
+        List<CharSequence> chunk = new ArrayList<>(MAX_CHUNK_SIZE);
+        for (CharSequence input : inputs) {
+            chunk.add(input);
+            if (chunk.size() == MAX_CHUNK_SIZE) {
+                if (inFlight.size() == maxInFlight) {
+                    deliver(inFlight.poll(), results);
+                }
+                inFlight.add(submit(chunk));
+                chunk = new ArrayList<>(MAX_CHUNK_SIZE);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            if (inFlight.size() == maxInFlight) {
+                deliver(inFlight.poll(), results);
+            }
+            inFlight.add(submit(chunk));
+        }
+        while (!inFlight.isEmpty()) {
+            deliver(inFlight.poll(), results);
+        }
+    }
+
+    private CompletableFuture<String[]> submit(List<CharSequence> chunk) {
+        return CompletableFuture.supplyAsync(() -> {
+            String[] summaries = new String[chunk.size()];
+            summarizeChunk(chunk, 0, chunk.size(), summaries);
+            return summaries;
+        }, executor);
+    }
+
+    private static void deliver(CompletableFuture<String[]> chunk, Consumer<? super String> results) {
+        for (String summary : TaskExecutors.await(chunk)) {
+            results.accept(summary);
+        }
+    }
+
+    private void summarizeChunk(List<? extends CharSequence> inputs, int from, int to, String[] results) {
+        Scratch scratch = borrowScratch();
+        try {
+            for (int i = from; i < to; i++) {
+                results[i] = summarizer.summarize(inputs.get(i), scratch.values, scratch.tokenizer);
+            }
+        } finally {
+            returnScratch(scratch);
+        }
+    }
+
+    private Scratch borrowScratch() {
+        Scratch scratch = scratchPool.poll();
+        if (scratch == null) {
+            return new Scratch();
+        }
+        pooled.decrementAndGet();
+        return scratch;
+    }
+
+    /**
+     * Pools the scratch unless the pool is full, so a burst of concurrent batches
+     * does not pin one scratch per worker for good.
+     */
+    private void returnScratch(Scratch scratch) {
+        if (pooled.incrementAndGet() > maxPooled) {
+            pooled.decrementAndGet();
+            return;
+        }
+        scratchPool.offer(scratch);
+    }
+
+    int pooledScratchCount() {
+        return pooled.get();
+    }
+
+    /**
+     * Per-task parse state, reused across inputs and returned to the pool afterwards.
+     */
+    private static final class Scratch {
+        final IntBuffer values = new IntBuffer();
+        final NumberTokenizer tokenizer = new NumberTokenizer(values);
+    }
+}
@@ -0,0 +1,244 @@
+package com.numberrange;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Caching decorator for workloads that see the same input strings again and again.
+ *
+ * Results of {@link #collect(String)} and {@link #summarize(CharSequence)} are
+ * kept per input string, so a hit skips parsing and sorting entirely. Passing a
+ * cached {@code collect} result to {@link #summarizeCollection(Collection)} only
+ * renders it, since it is known to be sorted and unique.
+ *
+ * The cache is bounded by weight rather than entry count: an entry weighs its
+ * input length plus its output, in chars for summaries and two chars per stored
+ * int for collections. Lookups are plain {@link ConcurrentHashMap} reads plus
+ * setting a reference bit, so hits do not contend. Eviction approximates LRU
+ * with the CLOCK algorithm: entries queue in insertion order and a referenced
+ * entry gets a second chance instead of being evicted. Only the thread that
+ * pushes the cache over its bound evicts, under a lock. Entries heavier than
+ * the whole bound are not cached.
+ *
+ * Cached collections are shared between callers, so the delegate must return
+ * unmodifiable ones, as {@link NumberRangeSummarizerImpl} does. Null inputs and
+ * failed calls are never cached. Thread-safe if the delegate is.
+ *
+ * @author Keuran Kisten
+ */
+public final class CachingNumberRangeSummarizer implements NumberRangeSummarizer {
+
+    private final NumberRangeSummarizer delegate;
+    private final long maxWeight;
+
+    private final Map<String, Entry> collected = new ConcurrentHashMap<>();
+    private final Map<String, Entry> summaries = new ConcurrentHashMap<>();
+    private final Queue<Entry> clock = new ConcurrentLinkedQueue<>();
+    private final AtomicLong weight = new AtomicLong();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param delegate summarizer that computes results on a miss
+     * @param maxWeight upper bound on the total weight of cached entries, in chars
+     */
+    public CachingNumberRangeSummarizer(NumberRangeSummarizer delegate, long maxWeight) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Delegate must not be null");
+        }
+        if (maxWeight < 1) {
+            throw new IllegalArgumentException("Maximum weight must be positive: " + maxWeight);
+        }
+        this.delegate = delegate;
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * Same result as the delegate's {@code collect}, cached per input string.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Collection<Integer> collect(String input) {
+        if (input == null) {
+            return delegate.collect(null);
+        }
+        Entry entry = collected.get(input);
+        if (entry != null) {
+            hits.increment();
+            return (Collection<Integer>) entry.touch();
+        }
+        misses.increment();
+        Collection<Integer> numbers = delegate.collect(input);
+        return (Collection<Integer>) store(collected, input, numbers, input.length() + weightOf(numbers));
+    }
+
+    /**
+     * Delegates; not cached, since collections are not keyed by content. Results of
+     * {@link #collect(String)} render without sorting.
+     */
+    @Override
+    public String summarizeCollection(Collection<Integer> input) {
+        return delegate.summarizeCollection(input);
+    }
+
+    /**
+     * Same result as the delegate's {@code summarize}, cached per input string.
+     */
+    @Override
+    public String summarize(CharSequence input) {
+        if (input == null) {
+            return delegate.summarize(null);
+        }
+        String key = input.toString();
+        Entry entry = summaries.get(key);
+        if (entry != null) {
+            hits.increment();
+            return (String) entry.touch();
+        }
+        misses.increment();
+        String summary = delegate.summarize(key);
+        return (String) store(summaries, key, summary, (long) key.length() + summary.length());
+    }
+
+    /**
+     * @return lookups answered from the cache
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return lookups that called the delegate
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return entries removed to stay within the weight bound
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return current total weight of cached entries, in chars
+     */
+    public long getWeight() {
+        return weight.get();
+    }
+
+    /**
+     * @return number of cached entries
+     */
+    public int size() {
+        return collected.size() + summaries.size();
+    }
+
+    /**
+     * Removes every cached entry; counters are kept.
+     */
+    public void clear() {
+        evictionLock.lock();
+        try {
+            Entry entry;
+            while ((entry = clock.poll()) != null) {
+                remove(entry);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Caches a freshly computed value unless another thread got there first,
+     * in which case the value already cached is returned.
+     */
+    private Object store(Map<String, Entry> map, String key, Object value, long entryWeight) {
+        if (entryWeight > maxWeight) {
+            return value;
+        }
+        Entry entry = new Entry(map, key, value, entryWeight);
+        Entry existing = map.putIfAbsent(key, entry);
+        if (existing != null) {
+            return existing.value;
+        }
+        clock.offer(entry);
+        if (weight.addAndGet(entryWeight) > maxWeight) {
+            evict();
+        }
+        return value;
+    }
+
+    /**
+     * CLOCK sweep: referenced entries lose their bit and go to the back of the
+     * queue, the first unreferenced one is evicted, until the bound holds.
+     */
+    private void evict() {
+        evictionLock.lock();
+        try {
+            while (weight.get() > maxWeight) {
+                Entry entry = clock.poll();
+                if (entry == null) {
+                    return;
+                }
+                if (entry.referenced) {
+                    entry.referenced = false;
+                    clock.offer(entry);
+                } else {
+                    remove(entry);
+                    evictions.increment();
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private void remove(Entry entry) {
+        entry.map.remove(entry.key, entry);
+        weight.addAndGet(-entry.weight);
+    }
+
+    /**
+     * Weight of a collection in chars: an int takes the memory of two chars.
+     */
+    private static long weightOf(Collection<Integer> numbers) {
+        if (numbers instanceof CompactRangeSet) {
+            return 4L * ((CompactRangeSet) numbers).rangeCount();
+        }
+        return 2L * numbers.size();
+    }
+
+    private static final class Entry {
+        final Map<String, Entry> map;
+        final String key;
+        final Object value;
+        final long weight;
+        volatile boolean referenced;
+
+        Entry(Map<String, Entry> map, String key, Object value, long weight) {
+            this.map = map;
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+        }
+
+        Object touch() {
+            // Skip the write when already set, so hot entries do not bounce between caches
+            if (!referenced) {
+                referenced = true;
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.numberrange;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Single-flight decorator: concurrent calls with equal input share one computation.
+ *
+ * The first caller for an input computes the result on its own thread; callers
+ * that arrive with an equal input while it runs wait for that result instead of
+ * parsing and sorting again. The in-flight entry is removed as soon as the
+ * computation finishes, so nothing is retained afterwards and a later call
+ * computes afresh. For keeping results, see {@link CachingNumberRangeSummarizer};
+ * the two can be stacked.
+ *
+ * {@link #collect(String)} and {@link #summarize(CharSequence)} are coalesced
+ * separately. If the computation fails, every waiting caller gets the same
+ * exception. Shared collections are used by several callers, so the delegate
+ * must return unmodifiable ones, as {@link NumberRangeSummarizerImpl} does.
+ * Thread-safe if the delegate is.
+ *
+ * @author Keuran Kisten
+ */
+public final class CoalescingNumberRangeSummarizer implements NumberRangeSummarizer {
+
+    private final NumberRangeSummarizer delegate;
+    private final Map<String, CompletableFuture<Collection<Integer>>> collecting = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<String>> summarizing = new ConcurrentHashMap<>();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * @param delegate summarizer that performs the shared computations
+     */
+    public CoalescingNumberRangeSummarizer(NumberRangeSummarizer delegate) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Delegate must not be null");
+        }
+        this.delegate = delegate;
+    }
+
+    /**
+     * Same result as the delegate's {@code collect}; shared with concurrent calls for an equal input.
+     */
+    @Override
+    public Collection<Integer> collect(String input) {
+        if (input == null) {
+            return delegate.collect(null);
+        }
+        return singleFlight(collecting, input, delegate::collect);
+    }
+
+    /**
+     * Delegates; rendering a collection is not coalesced.
+     */
+    @Override
+    public String summarizeCollection(Collection<Integer> input) {
+        return delegate.summarizeCollection(input);
+    }
+
+    /**
+     * Same result as the delegate's {@code summarize}; shared with concurrent calls for an equal input.
+     */
+    @Override
+    public String summarize(CharSequence input) {
+        if (input == null) {
+            return delegate.summarize(null);
+        }
+        return singleFlight(summarizing, input.toString(), delegate::summarize);
+    }
+
+    /**
+     * @return calls that were answered by another caller's computation
+     */
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    /**
+     * @return number of computations currently in flight
+     */
+    public int inFlight() {
+        return collecting.size() + summarizing.size();
+    }
+
+    private <T> T singleFlight(Map<String, CompletableFuture<T>> inFlight, String key, Function<String, T> compute) {
+        CompletableFuture<T> flight = new CompletableFuture<>();
+        CompletableFuture<T> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalesced.increment();
+            return TaskExecutors.await(existing);
+        }
+
+        try {
+            T result = compute.apply(key);
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            // Waiters already hold the future; later callers start a new computation
+            inFlight.remove(key, flight);
+        }
+    }
+}
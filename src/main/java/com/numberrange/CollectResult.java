@@ -0,0 +1,64 @@
+package com.numberrange;
+
+import java.util.Collection;
+
+/**
+ * Outcome of a parse: the collected numbers plus token statistics.
+ * 
+ * Lets callers see how much of their input was junk without having to
+ * re-parse it. Instances are immutable.
+ * 
+ * @author Keuran Kisten
+ */
+public final class CollectResult {
+    
+    private final Collection<Integer> numbers;
+    private final long tokenCount;
+    private final long rejectedCount;
+    private final SortStrategy sortStrategy;
+
+    CollectResult(Collection<Integer> numbers, long tokenCount, long rejectedCount, SortStrategy sortStrategy) {
+        this.numbers = numbers;
+        this.tokenCount = tokenCount;
+        this.rejectedCount = rejectedCount;
+        this.sortStrategy = sortStrategy;
+    }
+
+    /**
+     * @return sorted collection of unique valid integers, as returned by {@code collect}
+     */
+    public Collection<Integer> getNumbers() {
+        return numbers;
+    }
+
+    /**
+     * @return number of non-empty tokens in the input, valid or not
+     */
+    public long getTokenCount() {
+        return tokenCount;
+    }
+
+    /**
+     * @return number of non-empty tokens that were not valid integers
+     *         (text, decimals, out-of-range values, lone signs)
+     */
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    /**
+     * @return algorithm that sorted the final values; never {@link SortStrategy#AUTO}.
+     *         Streaming parses may also have compacted partial buffers with other algorithms.
+     */
+    public SortStrategy getSortStrategy() {
+        return sortStrategy;
+    }
+
+    @Override
+    public String toString() {
+        return "CollectResult{numbers=" + numbers.size()
+            + ", tokens=" + tokenCount
+            + ", rejected=" + rejectedCount
+            + ", sort=" + sortStrategy + "}";
+    }
+}
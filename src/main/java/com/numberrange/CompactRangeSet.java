@@ -0,0 +1,487 @@
+package com.numberrange;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.SortedSet;
+
+/**
+ * Read-only set of integers stored as sorted, disjoint, non-adjacent
+ * {@code [start, end]} ranges.
+ *
+ * Returned by {@code collect} when compact results are enabled. Memory is
+ * 8 bytes per range regardless of how many values a range covers, so
+ * {@code 1,2,...,1000000} takes one pair instead of a million entries.
+ * {@code size()}, {@code contains()}, navigation and iteration are computed
+ * from the ranges, and {@code summarizeCollection} renders the ranges
+ * directly in O(ranges). Elements are boxed only when read.
+ *
+ * Immutable, and therefore safe to share between threads.
+ *
+ * @author Keuran Kisten
+ */
+final class CompactRangeSet extends AbstractSet<Integer> implements NavigableSet<Integer> {
+
+    static final CompactRangeSet EMPTY = new CompactRangeSet(new int[0], 0);
+
+    // bounds[2 * i] and bounds[2 * i + 1] are the first and last value of range i
+    private final int[] bounds;
+    private final int rangeCount;
+    private final long count;
+
+    /**
+     * @param bounds start/end pairs in ascending order, with a gap of at least one
+     *        value between ranges; the array is owned by the set from now on
+     * @param rangeCount number of pairs in use
+     */
+    CompactRangeSet(int[] bounds, int rangeCount) {
+        this.bounds = bounds;
+        this.rangeCount = rangeCount;
+        long total = 0;
+        for (int i = 0; i < rangeCount; i++) {
+            total += (long) bounds[2 * i + 1] - bounds[2 * i] + 1;
+        }
+        this.count = total;
+    }
+
+    /**
+     * Builds the ranges of {@code sorted[0, length)}, which must be sorted and unique.
+     */
+    static CompactRangeSet fromSorted(int[] sorted, int length) {
+        if (length == 0) {
+            return EMPTY;
+        }
+        int ranges = 0;
+        int[] pairs = new int[16];
+        for (int i = 0; i < length; ) {
+            int last = RangeRenderer.lastOfRange(sorted, i, length);
+            if (2 * ranges == pairs.length) {
+                pairs = Arrays.copyOf(pairs, pairs.length << 1);
+            }
+            pairs[2 * ranges] = sorted[i];
+            pairs[2 * ranges + 1] = sorted[last];
+            ranges++;
+            i = last + 1;
+        }
+        return new CompactRangeSet(Arrays.copyOf(pairs, 2 * ranges), ranges);
+    }
+
+    /**
+     * Builds the union of start/end pairs given in any order, possibly overlapping.
+     * 
+     * @param pairs {@code pairs[2 * i] <= pairs[2 * i + 1]} for every pair; overwritten
+     * @param pairCount number of pairs in use
+     * @see #mergePairs(int[], int)
+     */
+    static CompactRangeSet fromPairs(int[] pairs, int pairCount) {
+        int ranges = mergePairs(pairs, pairCount);
+        return ranges == 0 ? EMPTY : new CompactRangeSet(Arrays.copyOf(pairs, 2 * ranges), ranges);
+    }
+
+    /**
+     * Sorts start/end pairs and merges overlapping and adjacent ones in place.
+     * 
+     * Each pair is packed into one {@code long} (start in the high half), so a single
+     * primitive sort orders them by start; one pass then merges overlapping and adjacent
+     * ranges. O(r log r) for r pairs, independent of how many values they cover.
+     * 
+     * @param pairs {@code pairs[2 * i] <= pairs[2 * i + 1]} for every pair
+     * @param pairCount number of pairs in use
+     * @return number of merged ranges, which now occupy the start of the array
+     */
+    static int mergePairs(int[] pairs, int pairCount) {
+        if (pairCount == 0) {
+            return 0;
+        }
+        long[] packed = new long[pairCount];
+        for (int i = 0; i < pairCount; i++) {
+            packed[i] = ((long) pairs[2 * i] << 32) | (pairs[2 * i + 1] & 0xFFFFFFFFL);
+        }
+        Arrays.sort(packed);
+        
+        int ranges = 0;
+        long start = packed[0] >> 32;
+        long end = (int) packed[0];
+        for (int i = 1; i < pairCount; i++) {
+            long nextStart = packed[i] >> 32;
+            long nextEnd = (int) packed[i];
+            if (nextStart <= end + 1) {
+                end = Math.max(end, nextEnd);
+                continue;
+            }
+            pairs[2 * ranges] = (int) start;
+            pairs[2 * ranges + 1] = (int) end;
+            ranges++;
+            start = nextStart;
+            end = nextEnd;
+        }
+        pairs[2 * ranges] = (int) start;
+        pairs[2 * ranges + 1] = (int) end;
+        return ranges + 1;
+    }
+
+    /**
+     * Backing start/end pairs; must not be modified.
+     */
+    int[] bounds() {
+        return bounds;
+    }
+
+    int rangeCount() {
+        return rangeCount;
+    }
+
+    /**
+     * Exact number of values, which can exceed {@code Integer.MAX_VALUE}.
+     */
+    long count() {
+        return count;
+    }
+
+    /**
+     * Capped at {@code Integer.MAX_VALUE}, as the Collection contract requires.
+     */
+    @Override
+    public int size() {
+        return (int) Math.min(count, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return rangeCount == 0;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (!(o instanceof Integer)) {
+            return false;
+        }
+        int value = (Integer) o;
+        int range = floorRange(value);
+        return range >= 0 && value <= end(range);
+    }
+
+    @Override
+    public Iterator<Integer> iterator() {
+        return new Iterator<Integer>() {
+            private int range;
+            private long next = rangeCount == 0 ? 0 : start(0);
+
+            @Override
+            public boolean hasNext() {
+                return range < rangeCount;
+            }
+
+            @Override
+            public Integer next() {
+                if (range >= rangeCount) {
+                    throw new NoSuchElementException();
+                }
+                int value = (int) next;
+                if (value == end(range) && ++range < rangeCount) {
+                    next = start(range);
+                } else {
+                    next++;
+                }
+                return value;
+            }
+        };
+    }
+
+    @Override
+    public Iterator<Integer> descendingIterator() {
+        return new Iterator<Integer>() {
+            private int range = rangeCount - 1;
+            private long next = rangeCount == 0 ? 0 : end(rangeCount - 1);
+
+            @Override
+            public boolean hasNext() {
+                return range >= 0;
+            }
+
+            @Override
+            public Integer next() {
+                if (range < 0) {
+                    throw new NoSuchElementException();
+                }
+                int value = (int) next;
+                if (value == start(range) && --range >= 0) {
+                    next = end(range);
+                } else {
+                    next--;
+                }
+                return value;
+            }
+        };
+    }
+
+    @Override
+    public Comparator<? super Integer> comparator() {
+        return null;
+    }
+
+    @Override
+    public Integer first() {
+        if (rangeCount == 0) {
+            throw new NoSuchElementException();
+        }
+        return start(0);
+    }
+
+    @Override
+    public Integer last() {
+        if (rangeCount == 0) {
+            throw new NoSuchElementException();
+        }
+        return end(rangeCount - 1);
+    }
+
+    @Override
+    public Integer floor(Integer e) {
+        return floorOf(e);
+    }
+
+    @Override
+    public Integer lower(Integer e) {
+        return floorOf((long) e - 1);
+    }
+
+    @Override
+    public Integer ceiling(Integer e) {
+        return ceilingOf(e);
+    }
+
+    @Override
+    public Integer higher(Integer e) {
+        return ceilingOf((long) e + 1);
+    }
+
+    @Override
+    public Integer pollFirst() {
+        throw new UnsupportedOperationException("CompactRangeSet is read-only");
+    }
+
+    @Override
+    public Integer pollLast() {
+        throw new UnsupportedOperationException("CompactRangeSet is read-only");
+    }
+
+    /**
+     * Copies the ranges that intersect the bounds, so the result costs O(ranges) to build.
+     */
+    @Override
+    public NavigableSet<Integer> subSet(Integer fromElement, boolean fromInclusive,
+                                        Integer toElement, boolean toInclusive) {
+        if (fromElement > toElement) {
+            throw new IllegalArgumentException("fromElement > toElement: " + fromElement + " > " + toElement);
+        }
+        return clip(fromInclusive ? fromElement : (long) fromElement + 1,
+                    toInclusive ? toElement : (long) toElement - 1);
+    }
+
+    @Override
+    public NavigableSet<Integer> headSet(Integer toElement, boolean inclusive) {
+        return clip(Integer.MIN_VALUE, inclusive ? toElement : (long) toElement - 1);
+    }
+
+    @Override
+    public NavigableSet<Integer> tailSet(Integer fromElement, boolean inclusive) {
+        return clip(inclusive ? fromElement : (long) fromElement + 1, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public SortedSet<Integer> subSet(Integer fromElement, Integer toElement) {
+        return subSet(fromElement, true, toElement, false);
+    }
+
+    @Override
+    public SortedSet<Integer> headSet(Integer toElement) {
+        return headSet(toElement, false);
+    }
+
+    @Override
+    public SortedSet<Integer> tailSet(Integer fromElement) {
+        return tailSet(fromElement, true);
+    }
+
+    @Override
+    public NavigableSet<Integer> descendingSet() {
+        return new Descending(this);
+    }
+
+    private int start(int range) {
+        return bounds[2 * range];
+    }
+
+    private int end(int range) {
+        return bounds[2 * range + 1];
+    }
+
+    /**
+     * Index of the last range starting at or before {@code value}, or -1 if none does.
+     */
+    private int floorRange(long value) {
+        int low = 0;
+        int high = rangeCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (start(mid) <= value) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+
+    private Integer floorOf(long value) {
+        int range = floorRange(value);
+        return range < 0 ? null : (int) Math.min(value, end(range));
+    }
+
+    private Integer ceilingOf(long value) {
+        int range = floorRange(value);
+        if (range >= 0 && value <= end(range)) {
+            return (int) value;
+        }
+        return range + 1 < rangeCount ? start(range + 1) : null;
+    }
+
+    /**
+     * Values within {@code [low, high]}; the bounds may lie outside the int range.
+     */
+    private CompactRangeSet clip(long low, long high) {
+        if (low > high) {
+            return EMPTY;
+        }
+        int first = Math.max(floorRange(low), 0);
+        int last = floorRange(high);
+        if (first < rangeCount && end(first) < low) {
+            first++;
+        }
+        if (first > last) {
+            return EMPTY;
+        }
+        int[] pairs = Arrays.copyOfRange(bounds, 2 * first, 2 * last + 2);
+        pairs[0] = (int) Math.max(pairs[0], low);
+        pairs[pairs.length - 1] = (int) Math.min(pairs[pairs.length - 1], high);
+        return new CompactRangeSet(pairs, last - first + 1);
+    }
+
+    /**
+     * Reverse-order view; every operation maps onto the mirrored one of the set.
+     */
+    private static final class Descending extends AbstractSet<Integer> implements NavigableSet<Integer> {
+
+        private final CompactRangeSet set;
+
+        Descending(CompactRangeSet set) {
+            this.set = set;
+        }
+
+        @Override
+        public int size() {
+            return set.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return set.contains(o);
+        }
+
+        @Override
+        public Iterator<Integer> iterator() {
+            return set.descendingIterator();
+        }
+
+        @Override
+        public Iterator<Integer> descendingIterator() {
+            return set.iterator();
+        }
+
+        @Override
+        public Comparator<? super Integer> comparator() {
+            return Collections.reverseOrder();
+        }
+
+        @Override
+        public Integer first() {
+            return set.last();
+        }
+
+        @Override
+        public Integer last() {
+            return set.first();
+        }
+
+        @Override
+        public Integer lower(Integer e) {
+            return set.higher(e);
+        }
+
+        @Override
+        public Integer floor(Integer e) {
+            return set.ceiling(e);
+        }
+
+        @Override
+        public Integer ceiling(Integer e) {
+            return set.floor(e);
+        }
+
+        @Override
+        public Integer higher(Integer e) {
+            return set.lower(e);
+        }
+
+        @Override
+        public Integer pollFirst() {
+            return set.pollLast();
+        }
+
+        @Override
+        public Integer pollLast() {
+            return set.pollFirst();
+        }
+
+        @Override
+        public NavigableSet<Integer> descendingSet() {
+            return set;
+        }
+
+        @Override
+        public NavigableSet<Integer> subSet(Integer fromElement, boolean fromInclusive,
+                                            Integer toElement, boolean toInclusive) {
+            return set.subSet(toElement, toInclusive, fromElement, fromInclusive).descendingSet();
+        }
+
+        @Override
+        public NavigableSet<Integer> headSet(Integer toElement, boolean inclusive) {
+            return set.tailSet(toElement, inclusive).descendingSet();
+        }
+
+        @Override
+        public NavigableSet<Integer> tailSet(Integer fromElement, boolean inclusive) {
+            return set.headSet(fromElement, inclusive).descendingSet();
+        }
+
+        @Override
+        public SortedSet<Integer> subSet(Integer fromElement, Integer toElement) {
+            return subSet(fromElement, true, toElement, false);
+        }
+
+        @Override
+        public SortedSet<Integer> headSet(Integer toElement) {
+            return headSet(toElement, false);
+        }
+
+        @Override
+        public SortedSet<Integer> tailSet(Integer fromElement) {
+            return tailSet(fromElement, true);
+        }
+    }
+}
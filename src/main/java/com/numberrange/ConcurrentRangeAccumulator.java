@@ -0,0 +1,129 @@
+package com.numberrange;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Collects integers from many threads into one range summary.
+ *
+ * Values go into lock-striped primitive buffers: each thread hashes to one of
+ * about twice as many stripes as there are cores, so producers rarely share a
+ * lock, and no value is boxed. Each stripe compacts itself (sort and
+ * de-duplicate in place) when it fills up, so memory follows the number of
+ * distinct values rather than the number of adds.
+ *
+ * {@link #snapshotSummary()} holds every stripe lock at once while it copies
+ * the buffers, so it sees exactly the adds that completed before it, then
+ * sorts and renders outside the locks. The text is the same as
+ * {@code summarizeCollection} over all values added so far, and the sort and
+ * render are reported to the summarizer's metrics.
+ *
+ * Thread-safe.
+ *
+ * @author Keuran Kisten
+ */
+public final class ConcurrentRangeAccumulator {
+
+    private static final int STRIPE_CAPACITY = 1024;
+    // Golden-ratio steps give consecutive threads well-spread probes
+    private static final AtomicInteger NEXT_PROBE = new AtomicInteger();
+    private static final ThreadLocal<Integer> PROBE =
+        ThreadLocal.withInitial(() -> NEXT_PROBE.getAndAdd(0x9E3779B9));
+
+    private final NumberRangeSummarizerImpl summarizer;
+    private final Stripe[] stripes;
+    private final int mask;
+
+    public ConcurrentRangeAccumulator() {
+        this(new NumberRangeSummarizerImpl());
+    }
+
+    /**
+     * @param summarizer summarizer whose sort settings are used to compact and sort the values
+     */
+    public ConcurrentRangeAccumulator(NumberRangeSummarizerImpl summarizer) {
+        this(summarizer, 2 * Runtime.getRuntime().availableProcessors());
+    }
+
+    ConcurrentRangeAccumulator(NumberRangeSummarizerImpl summarizer, int minStripes) {
+        if (summarizer == null) {
+            throw new IllegalArgumentException("Summarizer must not be null");
+        }
+        if (minStripes < 1 || minStripes > 1 << 16) {
+            throw new IllegalArgumentException("Stripe count must be between 1 and " + (1 << 16));
+        }
+        // Power of two so a stripe is picked with a mask
+        int count = Integer.highestOneBit(minStripes - 1) << 1;
+        count = Math.max(count, 1);
+
+        this.summarizer = summarizer;
+        this.stripes = new Stripe[count];
+        this.mask = count - 1;
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe(new IntBuffer(STRIPE_CAPACITY, summarizer.sortEngine()));
+        }
+    }
+
+    /**
+     * Adds a value; may be called from any thread.
+     */
+    public void add(int value) {
+        Stripe stripe = stripes[stripeIndex()];
+        stripe.lock.lock();
+        try {
+            stripe.values.add(value);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Summarizes every value added so far, e.g. {@code "1, 3, 6-8"}.
+     *
+     * @return formatted ranges; empty string if nothing was added
+     */
+    public String snapshotSummary() {
+        IntBuffer all = snapshot();
+        return summarizer.summarizeInPlace(all.array(), all.size());
+    }
+
+    /**
+     * Copies all stripes while holding every lock, acquired in index order.
+     */
+    private IntBuffer snapshot() {
+        int locked = 0;
+        try {
+            int total = 0;
+            for (; locked < stripes.length; locked++) {
+                stripes[locked].lock.lock();
+                total += stripes[locked].values.size();
+            }
+            IntBuffer all = new IntBuffer(total);
+            for (Stripe stripe : stripes) {
+                all.addAll(stripe.values);
+            }
+            return all;
+        } finally {
+            for (int i = 0; i < locked; i++) {
+                stripes[i].lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Spreads threads over the stripes; a thread always uses the same stripe.
+     */
+    private int stripeIndex() {
+        int probe = PROBE.get();
+        return (probe ^ (probe >>> 16)) & mask;
+    }
+
+    private static final class Stripe {
+        final ReentrantLock lock = new ReentrantLock();
+        final IntBuffer values;
+
+        Stripe(IntBuffer values) {
+            this.values = values;
+        }
+    }
+}
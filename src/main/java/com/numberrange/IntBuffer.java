@@ -0,0 +1,138 @@
+package com.numberrange;
+
+import java.util.Arrays;
+
+/**
+ * Growable buffer of primitive ints used while parsing, so that collected
+ * values are never boxed into {@code Integer} objects.
+ *
+ * A compacting buffer sorts and de-duplicates its contents in place when it
+ * fills up, and only grows if that did not free at least half of the space.
+ * Its memory therefore follows the number of distinct values rather than
+ * the number of values added, which is what streaming input needs.
+ * 
+ * Not thread-safe; each parse owns its own buffer.
+ *
+ * @author Keuran Kisten
+ */
+final class IntBuffer {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    // Sorts the buffer when it fills up; null for a plain growable buffer
+    private final SortEngine compactor;
+    private int[] data;
+    private int size;
+
+    IntBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    IntBuffer(int initialCapacity) {
+        this(initialCapacity, null);
+    }
+
+    /**
+     * @param compactor engine used to compact the buffer when it fills up, or null to just grow
+     */
+    IntBuffer(int initialCapacity, SortEngine compactor) {
+        this.data = new int[Math.max(initialCapacity, DEFAULT_CAPACITY)];
+        this.compactor = compactor;
+    }
+
+    /**
+     * Appends a value, making room when the backing array is full.
+     */
+    void add(int value) {
+        if (size == data.length) {
+            makeRoom();
+        }
+        data[size++] = value;
+    }
+
+    /**
+     * Appends all values of another buffer with a single copy.
+     */
+    void addAll(IntBuffer other) {
+        int required = size + other.size;
+        if (required > data.length) {
+            data = Arrays.copyOf(data, Math.max(required, data.length + (data.length >> 1)));
+        }
+        System.arraycopy(other.data, 0, data, size, other.size);
+        size = required;
+    }
+
+    int get(int index) {
+        return data[index];
+    }
+
+    void set(int index, int value) {
+        data[index] = value;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the backing array; only the first {@link #size()} elements are valid.
+     */
+    int[] array() {
+        return data;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    /**
+     * Keeps only the first {@code newSize} values.
+     */
+    void truncate(int newSize) {
+        size = newSize;
+    }
+
+    /**
+     * Grows the backing array by half, as a full buffer would on its next add.
+     */
+    void growCapacity() {
+        grow();
+    }
+
+    /**
+     * Shrinks the backing array to the current size, for buffers that are kept
+     * around after filling, so their memory follows the values they hold.
+     */
+    void trimToSize() {
+        int capacity = Math.max(size, DEFAULT_CAPACITY);
+        if (data.length > capacity) {
+            data = Arrays.copyOf(data, capacity);
+        }
+    }
+
+    /**
+     * Sorts the buffered values and removes duplicates in place.
+     */
+    void sortAndDeduplicate(SortEngine engine) {
+        size = engine.sortUnique(data, size);
+    }
+
+    private void makeRoom() {
+        if (compactor != null) {
+            sortAndDeduplicate(compactor);
+            if (size <= data.length >> 1) {
+                return;
+            }
+        }
+        grow();
+    }
+
+    private void grow() {
+        if (data.length >= MAX_CAPACITY) {
+            throw new IllegalStateException("Too many values to buffer: " + size);
+        }
+        int newCapacity = (int) Math.min((long) data.length + (data.length >> 1), MAX_CAPACITY);
+        data = Arrays.copyOf(data, newCapacity);
+    }
+}
@@ -0,0 +1,114 @@
+package com.numberrange;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+
+/**
+ * Summarizes comma-separated integer files by memory-mapping them.
+ * 
+ * The file is mapped read-only with {@link FileChannel#map} and its bytes are
+ * parsed in place, so the content is never copied onto the heap as a String.
+ * Files larger than one window (256 MB) are mapped as consecutive windows;
+ * tokens that straddle a window boundary are handled by the scanner. Nothing
+ * unmaps a window once it has been parsed, so every window stays mapped until
+ * the garbage collector reclaims its buffer, and address space use can reach
+ * the size of the file.
+ * 
+ * The file must use a single-byte, ASCII-compatible encoding (ASCII, Latin-1
+ * or UTF-8 without non-ASCII digits). Output is the same as
+ * {@code summarizeCollection(collect(content))}, without the String size limit.
+ * 
+ * Thread-safe: each call maps and parses independently.
+ * 
+ * @author Keuran Kisten
+ */
+public final class MappedFileSummarizer {
+    
+    // Below the 2 GB limit of a single mapping; parsed windows stay mapped until GC
+    private static final long DEFAULT_WINDOW_SIZE = 256L * 1024 * 1024;
+    
+    private final NumberRangeSummarizerImpl summarizer;
+    private final long windowSize;
+
+    public MappedFileSummarizer() {
+        this(new NumberRangeSummarizerImpl());
+    }
+
+    /**
+     * @param summarizer summarizer used to sort, de-duplicate and format the parsed values
+     */
+    public MappedFileSummarizer(NumberRangeSummarizerImpl summarizer) {
+        this(summarizer, DEFAULT_WINDOW_SIZE);
+    }
+
+    MappedFileSummarizer(NumberRangeSummarizerImpl summarizer, long windowSize) {
+        if (summarizer == null) {
+            throw new IllegalArgumentException("Summarizer must not be null");
+        }
+        if (windowSize <= 0 || windowSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Window size must be between 1 and " + Integer.MAX_VALUE);
+        }
+        this.summarizer = summarizer;
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Parses a file into a sorted collection of unique integers.
+     * 
+     * @param file comma-separated integer file
+     * @return sorted collection of unique integers; empty collection for an empty file
+     * @throws IOException if the file cannot be opened or mapped
+     * @throws IllegalArgumentException if file is null
+     */
+    public Collection<Integer> collect(Path file) throws IOException {
+        return collectWithStats(file).getNumbers();
+    }
+
+    /**
+     * Parses a file like {@link #collect(Path)} and also reports token statistics.
+     * 
+     * @param file comma-separated integer file
+     * @return collected numbers with token statistics
+     * @throws IOException if the file cannot be opened or mapped
+     * @throws IllegalArgumentException if file is null
+     */
+    public CollectResult collectWithStats(Path file) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("File must not be null");
+        }
+
+        long start = summarizer.startTimer();
+        IntBuffer values = new IntBuffer(8192, summarizer.sortEngine());
+        NumberTokenizer tokenizer = new NumberTokenizer(values);
+        long size;
+        
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            size = channel.size();
+            for (long position = 0; position < size; position += windowSize) {
+                long length = Math.min(windowSize, size - position);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                tokenizer.feed(window);
+            }
+        }
+        tokenizer.finish();
+        summarizer.recordParse(start, size, tokenizer.tokenCount(), tokenizer.rejectedCount());
+        
+        return summarizer.toResult(values, tokenizer.tokenCount(), tokenizer.rejectedCount());
+    }
+
+    /**
+     * Parses and summarizes a file in one call.
+     * 
+     * @param file comma-separated integer file
+     * @return formatted ranges (e.g., "1, 3, 6-8"); empty string for an empty file
+     * @throws IOException if the file cannot be opened or mapped
+     * @throws IllegalArgumentException if file is null
+     */
+    public String summarize(Path file) throws IOException {
+        return summarizer.summarizeCollection(collect(file));
+    }
+}
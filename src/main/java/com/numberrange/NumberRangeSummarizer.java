@@ -27,4 +27,9 @@ public interface NumberRangeSummarizer {
     //get the summarized string
     String summarizeCollection(Collection<Integer> input);
 
+    //collect and summarize in one call
+    default String summarize(CharSequence input) {
+        return summarizeCollection(collect(input == null ? null : input.toString()));
+    }
+
 }
\ No newline at end of file
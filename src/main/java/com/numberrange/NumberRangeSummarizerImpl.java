@@ -1,20 +1,40 @@
 package com.numberrange;
 
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Production-ready implementation of NumberRangeSummarizer with consistent algorithms.
  * 
  * Design principles:
- * - Consistent ArrayList+sort approach for predictable performance
+ * - Primitive int[] core: values are parsed, sorted and de-duplicated without
+ *   boxing; the Collection methods are thin adapters over it
+ * - collect() returns an immutable, array-backed list that summarizeCollection()
+ *   recognises as sorted and unique, so the usual pipeline sorts only once
+ * - With compact results, collect() returns a NavigableSet stored as ranges,
+ *   so memory follows the number of ranges rather than values
  * - Simple, maintainable code over premature optimization
  * - Proper input validation and error handling
- * - Optional debug logging for production troubleshooting
+ * - Optional per-phase metrics through {@link SummarizerMetrics}, free when unused
  * 
  * Performance characteristics:
- * - Time Complexity: O(n log n) for sorting, O(n) for range building
+ * - Time Complexity: O(n log n) comparison sort for small inputs, O(n) radix
+ *   sort for large ones and an O(n) bitmap for dense ones (see {@link SortStrategy}),
+ *   O(n) for range building
  * - Space Complexity: O(n) with efficient memory usage
  * - Handles up to 100,000 character inputs safely
+ * - Reader/InputStream inputs are streamed with no size limit; memory follows
+ *   the number of distinct values, not the input length
+ * - collectParallel() splits inputs of 1M+ characters across a ForkJoinPool
+ * 
+ * Instances are immutable and thread-safe. Use {@link #builder()} to tune the
+ * sort strategy; the no-argument constructor uses the defaults.
  * 
  * @author Keuran Kisten
  * @version 3.0.0
@@ -23,53 +43,257 @@ public class NumberRangeSummarizerImpl implements NumberRangeSummarizer {
     
     // Production constraints - configurable in real environment
     private static final int MAX_INPUT_LENGTH = 100_000;
-    private static final boolean DEBUG_ENABLED = Boolean.getBoolean("numberrange.debug");
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    private final SortEngine sortEngine;
+    private final boolean compactResults;
+    private final SummarizerMetrics metrics;
+    // False for the no-op default, so unmetered calls skip the clock reads entirely
+    private final boolean timed;
+
+    /**
+     * Creates a summarizer with the default configuration.
+     */
+    public NumberRangeSummarizerImpl() {
+        this(builder());
+    }
+
+    private NumberRangeSummarizerImpl(Builder builder) {
+        this.sortEngine = new SortEngine(builder.sortStrategy, builder.radixThreshold, builder.bitmapSpanFactor);
+        this.compactResults = builder.compactResults;
+        this.metrics = builder.metrics;
+        this.timed = builder.metrics != SummarizerMetrics.NOOP;
+    }
+
+    /**
+     * @return a builder for a summarizer with non-default settings
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
 
     /**
      * Parses a comma-separated string of integers into a sorted, unique collection.
      * 
      * @param input comma-separated string of integers (e.g., "1,3,6,7,8")
-     * @return sorted collection of unique integers; empty collection if input is null/empty
+     * @return sorted, unmodifiable collection of unique integers; empty collection if input is null/empty.
+     *         With {@link Builder#compactResults(boolean)} this is a {@link NavigableSet} stored as ranges.
      * @throws IllegalArgumentException if input exceeds maximum allowed size
      */
     @Override
     public Collection<Integer> collect(String input) {
+        return collectWithStats(input).getNumbers();
+    }
+
+    /**
+     * Parses like {@link #collect(String)} and also reports how many tokens were seen
+     * and how many of them were rejected as invalid.
+     * 
+     * Invalid tokens are detected by the scanner itself, so dirty input costs no more
+     * than clean input (no exceptions are created).
+     * 
+     * @param input comma-separated string of integers (e.g., "1,abc,3")
+     * @return collected numbers with token statistics; empty result if input is null/empty
+     * @throws IllegalArgumentException if input exceeds maximum allowed size
+     */
+    public CollectResult collectWithStats(String input) {
         validateInputSize(input);
         
-        if (input == null || input.trim().isEmpty()) {
-            return new ArrayList<>();
+        if (input == null) {
+            return new CollectResult(emptyNumbers(), 0, 0, SortStrategy.COMPARISON);
         }
 
-        // Split by commas and parse each number
-        String[] parts = input.split(",");
+        return parseSequential(input);
+    }
+
+    /**
+     * Parses a comma-separated string into a sorted array of unique integers.
+     * 
+     * Primitive counterpart of {@link #collect(String)}: no {@code Integer} is created.
+     * 
+     * @param input comma-separated string of integers (e.g., "1,3,6,7,8")
+     * @return sorted array of unique integers; empty array if input is null/empty
+     * @throws IllegalArgumentException if input exceeds maximum allowed size
+     */
+    public int[] collectToArray(String input) {
+        validateInputSize(input);
         
-        // Use ArrayList first for faster insertions, then sort once
-        List<Integer> numberList = new ArrayList<>(parts.length);
+        if (input == null) {
+            return new int[0];
+        }
         
-        for (String part : parts) {
-            String cleaned = part.trim();
-            if (!cleaned.isEmpty()) {
-                Integer number = tryParseInt(cleaned);
-                if (number != null) {
-                    numberList.add(number);
-                }
-            }
+        IntBuffer values = bufferFor(input);
+        scan(input, values);
+        int unique = sortUnique(values.array(), values.size(), values.size());
+        return Arrays.copyOf(values.array(), unique);
+    }
+
+    /**
+     * Parses comma-separated integers and ranges, such as a previous summary
+     * ({@code "1-1000000, 2000000-3000000"}), without expanding the ranges.
+     * 
+     * Tokens are single integers or {@code a-b} ranges with {@code a <= b}, including
+     * negative bounds as in {@code "-5--3"}. Overlapping and adjacent ranges are merged
+     * in O(t log t) for t tokens, independent of how many integers they cover, so
+     * summaries can be merged and re-summarized cheaply with {@link #summarizeCollection}.
+     * Reversed ranges are rejected like any other invalid token.
+     * 
+     * @param input comma-separated integers and ranges (e.g., "1, 3, 6-8, -5--3")
+     * @return read-only set of the covered integers, stored as ranges; empty if input is null/empty
+     * @throws IllegalArgumentException if input exceeds maximum allowed size
+     */
+    public NavigableSet<Integer> collectRanges(CharSequence input) {
+        validateInputSize(input);
+        
+        if (input == null) {
+            return CompactRangeSet.EMPTY;
         }
         
-        // Sort once and remove duplicates efficiently
-        List<Integer> result = deduplicateAndSort(numberList);
+        long start = startTimer();
+        // At most one range per two characters, two ints per range
+        IntBuffer pairs = new IntBuffer(input.length() + 2);
+        NumberTokenizer tokenizer = new NumberTokenizer(pairs, true);
+        tokenizer.feed(input, 0, input.length());
+        tokenizer.finish();
+        recordParse(start, input.length(), tokenizer.tokenCount(), tokenizer.rejectedCount());
         
-        if (DEBUG_ENABLED) {
-            System.out.printf("[DEBUG] Processed %d parts, found %d valid numbers, result size: %d%n", 
-                            parts.length, numberList.size(), result.size());
+        start = startTimer();
+        int pairCount = pairs.size() >> 1;
+        CompactRangeSet ranges = CompactRangeSet.fromPairs(pairs.array(), pairCount);
+        if (timed) {
+            metrics.recordSort(System.nanoTime() - start, SortStrategy.COMPARISON,
+                               pairCount, pairCount - ranges.rangeCount());
         }
+        return ranges;
+    }
+
+    /**
+     * Parses a very large input on the common {@link ForkJoinPool}.
+     * 
+     * @param input comma-separated integers; not subject to the String size limit
+     * @return sorted collection of unique integers; empty collection if input is null/empty
+     * @see #collectParallel(CharSequence, ForkJoinPool)
+     */
+    public Collection<Integer> collectParallel(CharSequence input) {
+        return collectParallel(input, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Parses a very large input in parallel, splitting it into chunks at comma boundaries.
+     * 
+     * Each chunk is parsed into its own primitive buffer on the pool and the chunks are
+     * merged through the usual sort/dedupe step. Inputs under 1M characters, or pools with
+     * a single worker, stay on the sequential path so small calls pay no fork overhead.
+     * Like the streaming overloads, this entry point is meant for large inputs and is not
+     * subject to the String size limit.
+     * 
+     * @param input comma-separated integers
+     * @param pool pool to parse on
+     * @return sorted collection of unique integers; empty collection if input is null/empty
+     * @throws IllegalArgumentException if pool is null
+     */
+    public Collection<Integer> collectParallel(CharSequence input, ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("ForkJoinPool must not be null");
+        }
+        if (input == null) {
+            return emptyNumbers();
+        }
+        if (input.length() < ParallelParser.SEQUENTIAL_THRESHOLD || pool.getParallelism() < 2) {
+            return parseSequential(input).getNumbers();
+        }
+        
+        long start = startTimer();
+        ParallelParser.Result parsed = ParallelParser.parse(input, pool, sortEngine);
+        recordParse(start, input.length(), parsed.tokenCount, parsed.rejectedCount);
+        return toResult(parsed.values, parsed.tokenCount, parsed.rejectedCount).getNumbers();
+    }
+
+    /**
+     * Parses comma-separated integers from a character stream into a sorted, unique collection.
+     * 
+     * The stream is read through a fixed-size buffer and is not subject to the
+     * String size limit, so inputs of any length can be summarized in one call.
+     * Memory grows with the number of distinct values, not with the input length.
+     * The reader is not closed.
+     * 
+     * @param reader source of comma-separated integers
+     * @return sorted collection of unique integers; empty collection if reader is null/empty
+     * @throws IOException if reading fails
+     */
+    public Collection<Integer> collectFrom(Reader reader) throws IOException {
+        return collectWithStatsFrom(reader).getNumbers();
+    }
+
+    /**
+     * Parses comma-separated integers from a byte stream decoded with the given charset.
+     * 
+     * @param in source of comma-separated integers; not closed
+     * @param charset charset of the stream, e.g. {@code StandardCharsets.US_ASCII}
+     * @return sorted collection of unique integers; empty collection if stream is null/empty
+     * @throws IOException if reading fails
+     * @throws IllegalArgumentException if charset is null
+     * @see #collectFrom(Reader)
+     */
+    public Collection<Integer> collectFrom(InputStream in, Charset charset) throws IOException {
+        if (charset == null) {
+            throw new IllegalArgumentException("Charset must not be null");
+        }
+        if (in == null) {
+            return emptyNumbers();
+        }
+        if (!timed) {
+            return collectFrom(new InputStreamReader(in, charset));
+        }
+        // Count bytes rather than decoded chars for the metrics
+        CountingInputStream counted = new CountingInputStream(in);
+        return parseStream(new InputStreamReader(counted, charset), counted).getNumbers();
+    }
+
+    /**
+     * Streams like {@link #collectFrom(Reader)} and also reports token statistics.
+     * 
+     * @param reader source of comma-separated integers; not closed
+     * @return collected numbers with token statistics; empty result if reader is null/empty
+     * @throws IOException if reading fails
+     */
+    public CollectResult collectWithStatsFrom(Reader reader) throws IOException {
+        return parseStream(reader, null);
+    }
+
+    /**
+     * Streams a reader; {@code bytes} counts the underlying bytes when metrics are on.
+     */
+    private CollectResult parseStream(Reader reader, CountingInputStream bytes) throws IOException {
+        if (reader == null) {
+            return new CollectResult(emptyNumbers(), 0, 0, SortStrategy.COMPARISON);
+        }
+
+        long start = startTimer();
+        long chars = 0;
+        // Compacting buffer: duplicates are squeezed out instead of growing
+        IntBuffer values = new IntBuffer(READ_BUFFER_SIZE, sortEngine);
+        NumberTokenizer tokenizer = new NumberTokenizer(values);
+        char[] buffer = new char[READ_BUFFER_SIZE];
         
-        return result;
+        int read;
+        while ((read = reader.read(buffer)) != -1) {
+            tokenizer.feed(buffer, 0, read);
+            chars += read;
+        }
+        tokenizer.finish();
+        recordParse(start, bytes == null ? chars : bytes.count, tokenizer.tokenCount(), tokenizer.rejectedCount());
+        
+        return toResult(values, tokenizer.tokenCount(), tokenizer.rejectedCount());
     }
 
     /**
      * Converts a collection of integers into a compact range representation.
      * 
+     * Results of {@code collect} and naturally ordered {@link SortedSet}s are already
+     * sorted and unique, so they go straight to range building in O(n). Compact
+     * results are rendered from their ranges in O(ranges).
+     * 
      * @param input collection of integers to summarize
      * @return formatted string with ranges (e.g., "1, 3, 6-8, 12-15"); empty string if input is null/empty
      */
@@ -79,90 +303,276 @@ public class NumberRangeSummarizerImpl implements NumberRangeSummarizer {
             return "";
         }
 
-        // Trust the interface: prepare numbers consistently
-        List<Integer> numbers = prepareNumbers(input);
-        if (numbers.isEmpty()) {
+        if (input instanceof SortedIntList) {
+            SortedIntList sorted = (SortedIntList) input;
+            return render(sorted.array(), sorted.size());
+        }
+        if (input instanceof CompactRangeSet) {
+            CompactRangeSet ranges = (CompactRangeSet) input;
+            long start = startTimer();
+            String summary = RangeRenderer.renderRanges(ranges.bounds(), ranges.rangeCount());
+            recordRender(start, ranges.rangeCount());
+            return summary;
+        }
+        
+        IntBuffer values = sortedUnique(input);
+        return render(values.array(), values.size());
+    }
+
+    /**
+     * Writes the range representation of a collection straight to an Appendable.
+     * 
+     * Produces the same text as {@link #summarizeCollection(Collection)}, but digits are
+     * written through a small buffer into the target, so the summary is never held as a
+     * String. Suited to HTTP responses and log files. The target is not flushed or closed.
+     * 
+     * @param input collection of integers to summarize; nothing is written if null/empty
+     * @param out target, e.g. a {@code Writer} or {@code StringBuilder}
+     * @throws IOException if writing to the target fails
+     * @throws IllegalArgumentException if out is null
+     */
+    public void summarizeTo(Collection<Integer> input, Appendable out) throws IOException {
+        if (out == null) {
+            throw new IllegalArgumentException("Output must not be null");
+        }
+        if (input == null || input.isEmpty()) {
+            return;
+        }
+        
+        if (input instanceof SortedIntList) {
+            SortedIntList sorted = (SortedIntList) input;
+            render(sorted.array(), sorted.size(), out);
+            return;
+        }
+        if (input instanceof CompactRangeSet) {
+            CompactRangeSet ranges = (CompactRangeSet) input;
+            long start = startTimer();
+            RangeRenderer.renderRanges(ranges.bounds(), ranges.rangeCount(), out);
+            recordRender(start, ranges.rangeCount());
+            return;
+        }
+        
+        IntBuffer values = sortedUnique(input);
+        render(values.array(), values.size(), out);
+    }
+
+    /**
+     * Parses and summarizes in one call; same result as
+     * {@code summarizeCollection(collect(input.toString()))}.
+     * 
+     * Values go from the scanner into a primitive buffer, are sorted and de-duplicated
+     * in place and rendered from there, with no boxed intermediate collection and no
+     * copy of the input.
+     * 
+     * @param input comma-separated integers (e.g., "1,3,6,7,8")
+     * @return formatted string with ranges (e.g., "1, 3, 6-8"); empty string if input is null/empty
+     * @throws IllegalArgumentException if input exceeds maximum allowed size
+     */
+    @Override
+    public String summarize(CharSequence input) {
+        validateInputSize(input);
+        
+        if (input == null) {
             return "";
         }
+        
+        IntBuffer values = bufferFor(input);
+        scan(input, values);
+        int unique = sortUnique(values.array(), values.size(), values.size());
+        return render(values.array(), unique);
+    }
 
-        // Walk through the numbers and build ranges
-        List<String> ranges = new ArrayList<>();
-        int rangeStart = numbers.get(0);
-        int rangeEnd = rangeStart;
-        
-        for (int i = 1; i < numbers.size(); i++) {
-            int current = numbers.get(i);
-            
-            if (isConsecutive(rangeEnd, current)) {
-                rangeEnd = current; // Extend the current range
-            } else {
-                ranges.add(formatRange(rangeStart, rangeEnd)); // Save current range
-                rangeStart = current; // Start a new range
-                rangeEnd = current;
-            }
+    /**
+     * {@link #summarize(CharSequence)} with caller-owned scratch objects, so batch callers
+     * can reuse them across inputs. The tokenizer must feed {@code values}.
+     */
+    String summarize(CharSequence input, IntBuffer values, NumberTokenizer tokenizer) {
+        validateInputSize(input);
+        
+        if (input == null) {
+            return "";
         }
         
-        // remember the last range
-        ranges.add(formatRange(rangeStart, rangeEnd));
+        long start = startTimer();
+        values.clear();
+        tokenizer.reset();
+        tokenizer.feed(input, 0, input.length());
+        tokenizer.finish();
+        recordParse(start, input.length(), tokenizer.tokenCount(), tokenizer.rejectedCount());
+        int unique = sortUnique(values.array(), values.size(), values.size());
+        return render(values.array(), unique);
+    }
+
+    /**
+     * Converts the first {@code length} elements of an array into a compact range representation.
+     * 
+     * Primitive counterpart of {@link #summarizeCollection(Collection)}. The values may be
+     * unsorted and contain duplicates; the array itself is not modified.
+     * 
+     * @param values integers to summarize
+     * @param length number of leading elements to use
+     * @return formatted string with ranges (e.g., "1, 3, 6-8, 12-15"); empty string if values is null/empty
+     * @throws IllegalArgumentException if length is negative or larger than the array
+     */
+    public String summarize(int[] values, int length) {
+        if (values == null) {
+            return "";
+        }
+        if (length < 0 || length > values.length) {
+            throw new IllegalArgumentException(String.format(
+                "Length %d is out of bounds for array of length %d", length, values.length));
+        }
         
-        return String.join(", ", ranges);
+        return summarizeInPlace(Arrays.copyOf(values, length), length);
+    }
+
+    /**
+     * Sorts, de-duplicates and renders values the caller owns, reporting to the
+     * metrics like every other summarize path. The array is modified.
+     */
+    String summarizeInPlace(int[] values, int length) {
+        int unique = sortUnique(values, length, length);
+        return render(values, unique);
     }
     
     /**
-     * Gets a clean, sorted list of unique numbers from any collection.
-     * Uses consistent ArrayList+sort approach for optimal performance.
+     * Unboxes a collection, skipping nulls, and sorts and de-duplicates the values.
      */
-    private List<Integer> prepareNumbers(Collection<Integer> input) {
-        List<Integer> numbers = new ArrayList<>();
-        
+    private IntBuffer sortedUnique(Collection<Integer> input) {
+        IntBuffer values = new IntBuffer(input.size());
         for (Integer number : input) {
             if (number != null) {
-                numbers.add(number);
+                values.add(number);
             }
         }
         
-        return deduplicateAndSort(numbers);
+        // Naturally ordered sets are already sorted and unique
+        if (!(input instanceof SortedSet && ((SortedSet<?>) input).comparator() == null)) {
+            values.truncate(sortUnique(values.array(), values.size(), values.size()));
+        }
+        return values;
     }
     
     /**
-     * Checks if two numbers are consecutive (differ by 1).
+     * Scans an in-memory input on the calling thread.
      */
-    private boolean isConsecutive(int first, int second) {
-        return second == first + 1;
+    private CollectResult parseSequential(CharSequence input) {
+        IntBuffer values = bufferFor(input);
+        NumberTokenizer tokenizer = scan(input, values);
+        return toResult(values, tokenizer.tokenCount(), tokenizer.rejectedCount());
     }
-    
+
     /**
-     * Formats a range. Single numbers stay as-is, ranges become "start-end".
+     * Buffer sized for an in-memory input. A value needs at least one digit
+     * plus a comma, so this never grows.
      */
-    private String formatRange(int start, int end) {
-        if (start == end) {
-            return String.valueOf(start);
-        } else {
-            return start + "-" + end;
+    private static IntBuffer bufferFor(CharSequence input) {
+        return new IntBuffer((input.length() >> 1) + 1);
+    }
+
+    /**
+     * Scans the characters once, straight into a primitive buffer.
+     */
+    private NumberTokenizer scan(CharSequence input, IntBuffer values) {
+        long start = startTimer();
+        NumberTokenizer tokenizer = new NumberTokenizer(values);
+        tokenizer.feed(input, 0, input.length());
+        tokenizer.finish();
+        recordParse(start, input.length(), tokenizer.tokenCount(), tokenizer.rejectedCount());
+        return tokenizer;
+    }
+
+    /**
+     * Turns parsed values into the public result: a sorted, unique, array-backed list,
+     * or a range set with compact results.
+     */
+    CollectResult toResult(IntBuffer values, long tokenCount, long rejectedCount) {
+        // Measure once, then sort and remove duplicates in place; values stay unboxed
+        long start = startTimer();
+        SortEngine.Shape shape = SortEngine.measure(values.array(), values.size());
+        SortStrategy algorithm = sortEngine.choose(shape);
+        int unique = sortEngine.sortUnique(values.array(), shape, algorithm);
+        if (timed) {
+            // Count against valid tokens: a streaming buffer may already have compacted some duplicates
+            long valid = tokenCount - rejectedCount;
+            metrics.recordSort(System.nanoTime() - start, algorithm, valid, valid - unique);
         }
+        Collection<Integer> result = compactResults
+            ? CompactRangeSet.fromSorted(values.array(), unique)
+            : new SortedIntList(Arrays.copyOf(values.array(), unique));
+        
+        return new CollectResult(result, tokenCount, rejectedCount, algorithm);
+    }
+    
+    SortEngine sortEngine() {
+        return sortEngine;
     }
     
     /**
-     * Safely parses a string to Integer with error handling.
+     * Sorts and de-duplicates like {@link SortEngine#sortUnique(int[], int)}, reporting
+     * the sort to the metrics.
      * 
-     * @param text string to parse
-     * @return parsed Integer or null if invalid
+     * @param inputCount values before any earlier de-duplication, for the duplicate count
+     */
+    private int sortUnique(int[] values, int length, int inputCount) {
+        if (!timed) {
+            return sortEngine.sortUnique(values, length);
+        }
+        long start = System.nanoTime();
+        SortEngine.Shape shape = SortEngine.measure(values, length);
+        SortStrategy algorithm = sortEngine.choose(shape);
+        int unique = sortEngine.sortUnique(values, shape, algorithm);
+        metrics.recordSort(System.nanoTime() - start, algorithm, inputCount, inputCount - unique);
+        return unique;
+    }
+    
+    private String render(int[] sorted, int length) {
+        long start = startTimer();
+        String summary = RangeRenderer.render(sorted, length);
+        if (timed) {
+            recordRender(start, RangeRenderer.rangeCount(sorted, length));
+        }
+        return summary;
+    }
+    
+    private void render(int[] sorted, int length, Appendable out) throws IOException {
+        long start = startTimer();
+        RangeRenderer.render(sorted, length, out);
+        if (timed) {
+            recordRender(start, RangeRenderer.rangeCount(sorted, length));
+        }
+    }
+    
+    /**
+     * @return the current time for a metered phase, or 0 without metrics
      */
-    private Integer tryParseInt(String text) {
-        try {
-            return Integer.parseInt(text);
-        } catch (NumberFormatException e) {
-            return null;
+    long startTimer() {
+        return timed ? System.nanoTime() : 0L;
+    }
+    
+    void recordParse(long start, long inputLength, long tokens, long invalidTokens) {
+        if (timed) {
+            metrics.recordParse(System.nanoTime() - start, inputLength, tokens, invalidTokens);
+        }
+    }
+    
+    private void recordRender(long start, int ranges) {
+        if (timed) {
+            metrics.recordRender(System.nanoTime() - start, ranges);
         }
     }
     
+    private Collection<Integer> emptyNumbers() {
+        return compactResults ? CompactRangeSet.EMPTY : SortedIntList.EMPTY;
+    }
+    
     /**
      * Validates input size to prevent performance issues and DoS attacks.
      * 
-     * @param input input string to validate
+     * @param input input text to validate
      * @throws IllegalArgumentException if input exceeds limits
      */
-    private void validateInputSize(String input) {
+    private void validateInputSize(CharSequence input) {
         if (input != null && input.length() > MAX_INPUT_LENGTH) {
             String message = String.format(
                 "Input size exceeds limit: %d characters (maximum allowed: %d). " +
@@ -173,31 +583,136 @@ public class NumberRangeSummarizerImpl implements NumberRangeSummarizer {
     }
     
     /**
-     * Efficiently sorts and removes duplicates from a list in a single pass.
-     * More efficient than TreeSet for larger datasets.
-     * 
-     * @param numbers list to deduplicate and sort
-     * @return new sorted list with unique elements
+     * Configures a {@link NumberRangeSummarizerImpl}.
      */
-    private List<Integer> deduplicateAndSort(List<Integer> numbers) {
-        if (numbers.isEmpty()) {
-            return new ArrayList<>();
-        }
+    public static final class Builder {
         
-        Collections.sort(numbers);
-        
-        // Remove duplicates in-place for memory efficiency
-        List<Integer> result = new ArrayList<>(numbers.size());
-        Integer previous = null;
-        
-        for (Integer current : numbers) {
-            if (!current.equals(previous)) {
-                result.add(current);
-                previous = current;
+        private SortStrategy sortStrategy = SortStrategy.AUTO;
+        private int radixThreshold = SortEngine.DEFAULT_RADIX_THRESHOLD;
+        private int bitmapSpanFactor = SortEngine.DEFAULT_BITMAP_SPAN_FACTOR;
+        private boolean compactResults;
+        private SummarizerMetrics metrics = SummarizerMetrics.NOOP;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the sort/dedupe algorithm. Defaults to {@link SortStrategy#AUTO}.
+         * 
+         * @param sortStrategy algorithm to use for every call
+         * @return this builder
+         * @throws IllegalArgumentException if sortStrategy is null
+         */
+        public Builder sortStrategy(SortStrategy sortStrategy) {
+            if (sortStrategy == null) {
+                throw new IllegalArgumentException("Sort strategy must not be null");
             }
+            this.sortStrategy = sortStrategy;
+            return this;
+        }
+
+        /**
+         * Sets the number of values from which {@link SortStrategy#AUTO} switches to radix sort.
+         * Defaults to 4096.
+         * 
+         * @param radixThreshold minimum input size for radix sort
+         * @return this builder
+         * @throws IllegalArgumentException if radixThreshold is negative
+         */
+        public Builder radixThreshold(int radixThreshold) {
+            if (radixThreshold < 0) {
+                throw new IllegalArgumentException("Radix threshold must not be negative: " + radixThreshold);
+            }
+            this.radixThreshold = radixThreshold;
+            return this;
+        }
+
+        /**
+         * Sets how dense values must be for {@link SortStrategy#AUTO} to use the bitmap:
+         * it is used when {@code max - min} is below {@code factor * count}. The bitmap
+         * takes {@code (max - min) / 8} bytes. Defaults to 32; 0 disables the bitmap.
+         * 
+         * @param bitmapSpanFactor allowed span per value
+         * @return this builder
+         * @throws IllegalArgumentException if bitmapSpanFactor is negative
+         */
+        public Builder bitmapSpanFactor(int bitmapSpanFactor) {
+            if (bitmapSpanFactor < 0) {
+                throw new IllegalArgumentException("Bitmap span factor must not be negative: " + bitmapSpanFactor);
+            }
+            this.bitmapSpanFactor = bitmapSpanFactor;
+            return this;
+        }
+
+        /**
+         * Makes {@code collect} return a read-only {@link NavigableSet} stored as
+         * {@code [start, end]} ranges instead of one entry per value. Memory then
+         * follows the number of ranges, and {@code summarizeCollection} renders it
+         * without expanding. Defaults to false.
+         * 
+         * @param compactResults whether collected numbers are stored as ranges
+         * @return this builder
+         */
+        public Builder compactResults(boolean compactResults) {
+            this.compactResults = compactResults;
+            return this;
+        }
+
+        /**
+         * Reports parse, sort and render timings and counts of every call to the given
+         * metrics, e.g. a {@link RecordingSummarizerMetrics}. Defaults to
+         * {@link SummarizerMetrics#NOOP}, which costs nothing.
+         * 
+         * @param metrics receiver of the measurements
+         * @return this builder
+         * @throws IllegalArgumentException if metrics is null
+         */
+        public Builder metrics(SummarizerMetrics metrics) {
+            if (metrics == null) {
+                throw new IllegalArgumentException("Metrics must not be null");
+            }
+            this.metrics = metrics;
+            return this;
+        }
+
+        public NumberRangeSummarizerImpl build() {
+            return new NumberRangeSummarizerImpl(this);
+        }
+    }
+
+    /**
+     * Counts the bytes read through it, for the metrics' input length.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = super.read();
+            if (value != -1) {
+                count++;
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
         }
-        
-        return result;
     }
-    
 }
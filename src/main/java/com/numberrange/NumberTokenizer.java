@@ -0,0 +1,243 @@
+package com.numberrange;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Single-pass scanner that turns comma-separated text into ints without
+ * creating intermediate Strings.
+ *
+ * A token is accepted exactly when {@code Integer.parseInt(token.trim())}
+ * would accept it: optional surrounding whitespace, an optional leading
+ * '+' or '-', and one or more decimal digits whose value fits in an int.
+ * Empty tokens are skipped. Accepted values are appended to the sink buffer
+ * in input order; every other token is counted as rejected. Validity is
+ * decided by the scanner state alone, so no exception is ever thrown.
+ *
+ * In range mode a token may also be a range {@code a-b} with {@code a <= b},
+ * such as {@code 6-8} or {@code -5--3}, and each accepted token is appended
+ * as a start/end pair (a single number {@code n} as {@code n, n}). Reversed
+ * ranges and incomplete ones such as {@code 5-} are rejected.
+ *
+ * The scanner keeps its state between calls, so text can be fed in pieces
+ * and a token may span two calls. Call {@link #finish()} after the last
+ * piece. Not thread-safe.
+ *
+ * @author Keuran Kisten
+ */
+final class NumberTokenizer {
+
+    // Scanner states
+    private static final int LEADING = 0;   // whitespace before a token
+    private static final int SIGN = 1;      // sign seen, digit required
+    private static final int DIGITS = 2;    // inside the digits
+    private static final int TRAILING = 3;  // whitespace after the digits
+    private static final int INVALID = 4;   // rejected, skip to next comma
+    private static final int BOUND = 5;     // range dash seen, end bound required
+
+    private final IntBuffer sink;
+    private final boolean ranges;
+
+    private int state = LEADING;
+    private boolean negative;
+    private int limit;
+    private int multiplyMin;
+    // Accumulated negatively (like Integer.parseInt) so MIN_VALUE fits
+    private int value;
+    // Range mode: start bound of the token, once its dash has been seen
+    private boolean inRange;
+    private int rangeStart;
+
+    // Streams and mapped files can hold more than Integer.MAX_VALUE tokens
+    private long tokenCount;
+    private long rejectedCount;
+
+    NumberTokenizer(IntBuffer sink) {
+        this(sink, false);
+    }
+
+    /**
+     * @param ranges whether to accept {@code a-b} tokens and emit start/end pairs
+     */
+    NumberTokenizer(IntBuffer sink, boolean ranges) {
+        this.sink = sink;
+        this.ranges = ranges;
+    }
+
+    /**
+     * Scans the characters in {@code text[from, to)}.
+     */
+    void feed(CharSequence text, int from, int to) {
+        for (int i = from; i < to; i++) {
+            accept(text.charAt(i));
+        }
+    }
+
+    /**
+     * Scans the characters in {@code buffer[offset, offset + length)}.
+     */
+    void feed(char[] buffer, int offset, int length) {
+        int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            accept(buffer[i]);
+        }
+    }
+
+    /**
+     * Scans the bytes between the buffer's position and limit as single-byte
+     * (ASCII/Latin-1) characters, without moving the position.
+     * Bytes of multi-byte encodings never form digits, so they invalidate their token.
+     */
+    void feed(ByteBuffer bytes) {
+        int end = bytes.limit();
+        for (int i = bytes.position(); i < end; i++) {
+            accept((char) (bytes.get(i) & 0xFF));
+        }
+    }
+
+    /**
+     * Ends the token in progress, if any. Must be called after the last piece of input.
+     */
+    void finish() {
+        endToken();
+    }
+
+    /**
+     * Forgets the token in progress and the counts, so the scanner can be reused
+     * for another input. The sink is not cleared.
+     */
+    void reset() {
+        state = LEADING;
+        inRange = false;
+        tokenCount = 0;
+        rejectedCount = 0;
+    }
+
+    /**
+     * Number of non-empty tokens seen so far, valid or not.
+     */
+    long tokenCount() {
+        return tokenCount;
+    }
+
+    /**
+     * Number of non-empty tokens that were not valid integers.
+     */
+    long rejectedCount() {
+        return rejectedCount;
+    }
+
+    void accept(char c) {
+        if (c == ',') {
+            endToken();
+            return;
+        }
+
+        switch (state) {
+            case LEADING:
+                if (c > ' ') {
+                    startToken(c);
+                }
+                break;
+            case SIGN:
+            case DIGITS:
+                acceptDigit(c);
+                break;
+            case TRAILING:
+                if (c == '-' && ranges && !inRange) {
+                    startRangeEnd();
+                } else if (c > ' ') {
+                    state = INVALID;
+                }
+                break;
+            case BOUND:
+                if (c > ' ') {
+                    startToken(c);
+                }
+                break;
+            default:
+                // INVALID: ignore everything up to the next comma
+                break;
+        }
+    }
+
+    private void startToken(char c) {
+        state = SIGN;
+        value = 0;
+        negative = c == '-';
+        limit = negative ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+        multiplyMin = limit / 10;
+
+        if (c != '-' && c != '+') {
+            acceptDigit(c);
+        }
+    }
+
+    private void acceptDigit(char c) {
+        int digit = c - '0';
+        if (digit < 0 || digit > 9) {
+            if (c <= ' ' && state == DIGITS) {
+                state = TRAILING;
+                return;
+            }
+            if (c == '-' && ranges && state == DIGITS && !inRange) {
+                startRangeEnd();
+                return;
+            }
+            // Integer.parseInt also accepts non-ASCII decimal digits
+            digit = c < 128 ? -1 : Character.digit(c, 10);
+            if (digit < 0) {
+                state = INVALID;
+                return;
+            }
+        }
+
+        if (value < multiplyMin) {
+            state = INVALID;
+            return;
+        }
+        value *= 10;
+        if (value < limit + digit) {
+            state = INVALID;
+            return;
+        }
+        value -= digit;
+        state = DIGITS;
+    }
+
+    private void startRangeEnd() {
+        rangeStart = negative ? value : -value;
+        inRange = true;
+        state = BOUND;
+    }
+
+    private void endToken() {
+        switch (state) {
+            case LEADING:
+                return; // empty token
+            case DIGITS:
+            case TRAILING:
+                emit(negative ? value : -value);
+                break;
+            default:
+                rejectedCount++;
+                break;
+        }
+        tokenCount++;
+        inRange = false;
+        state = LEADING;
+    }
+
+    private void emit(int number) {
+        if (!ranges) {
+            sink.add(number);
+            return;
+        }
+        int start = inRange ? rangeStart : number;
+        if (start > number) {
+            rejectedCount++;
+            return;
+        }
+        sink.add(start);
+        sink.add(number);
+    }
+}
@@ -0,0 +1,127 @@
+package com.numberrange;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Parses large inputs on a {@link ForkJoinPool}.
+ * 
+ * The input is split recursively at comma boundaries, so every token lies
+ * entirely within one chunk and chunks can be scanned independently. Each
+ * chunk is parsed into its own primitive buffer and sorted/de-duplicated on
+ * its worker, then trimmed to its unique values, so chunks waiting for the
+ * merge hold no spare capacity; the chunks are then concatenated for the
+ * final sort/dedupe.
+ * 
+ * @author Keuran Kisten
+ */
+final class ParallelParser {
+    
+    // Below this many characters the fork overhead outweighs the gain
+    static final int SEQUENTIAL_THRESHOLD = 1 << 20;
+    private static final int MIN_CHUNK_SIZE = 1 << 16;
+    // Several chunks per worker keep the pool balanced when chunks differ in cost
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    private ParallelParser() {
+    }
+
+    /**
+     * Parsed values and token counts for the whole input.
+     */
+    static final class Result {
+        final IntBuffer values;
+        final long tokenCount;
+        final long rejectedCount;
+
+        Result(IntBuffer values, long tokenCount, long rejectedCount) {
+            this.values = values;
+            this.tokenCount = tokenCount;
+            this.rejectedCount = rejectedCount;
+        }
+    }
+
+    static Result parse(CharSequence input, ForkJoinPool pool, SortEngine engine) {
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, input.length() / (pool.getParallelism() * CHUNKS_PER_WORKER));
+        return parse(input, pool, engine, chunkSize);
+    }
+
+    static Result parse(CharSequence input, ForkJoinPool pool, SortEngine engine, int chunkSize) {
+        Queue<Result> chunks = new ConcurrentLinkedQueue<>();
+        pool.invoke(new ParseTask(input, 0, input.length(), chunkSize, engine, chunks));
+
+        int total = 0;
+        for (Result chunk : chunks) {
+            total += chunk.values.size();
+        }
+        
+        IntBuffer values = new IntBuffer(total);
+        long tokenCount = 0;
+        long rejectedCount = 0;
+        for (Result chunk : chunks) {
+            values.addAll(chunk.values);
+            tokenCount += chunk.tokenCount;
+            rejectedCount += chunk.rejectedCount;
+        }
+        return new Result(values, tokenCount, rejectedCount);
+    }
+
+    private static final class ParseTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        // ForkJoinTask is Serializable, but tasks never leave the pool
+        private final transient CharSequence input;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+        private final transient SortEngine engine;
+        private final transient Queue<Result> chunks;
+
+        ParseTask(CharSequence input, int from, int to, int chunkSize, SortEngine engine, Queue<Result> chunks) {
+            this.input = input;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+            this.engine = engine;
+            this.chunks = chunks;
+        }
+
+        @Override
+        protected void compute() {
+            int split = to - from > chunkSize ? splitPoint() : to;
+            if (split >= to) {
+                parseChunk();
+                return;
+            }
+            invokeAll(new ParseTask(input, from, split, chunkSize, engine, chunks),
+                      new ParseTask(input, split, to, chunkSize, engine, chunks));
+        }
+
+        /**
+         * Index just after the first comma at or past the midpoint, or {@code to} if there is none.
+         */
+        private int splitPoint() {
+            for (int i = from + ((to - from) >>> 1); i < to; i++) {
+                if (input.charAt(i) == ',') {
+                    return i + 1;
+                }
+            }
+            return to;
+        }
+
+        private void parseChunk() {
+            IntBuffer values = new IntBuffer(((to - from) >> 1) + 1);
+            NumberTokenizer tokenizer = new NumberTokenizer(values);
+            tokenizer.feed(input, from, to);
+            tokenizer.finish();
+            
+            // Shrinks duplicate-heavy chunks, and releases the space their input-sized
+            // buffers no longer need, before they wait for the merge
+            values.sortAndDeduplicate(engine);
+            values.trimToSize();
+            chunks.add(new Result(values, tokenizer.tokenCount(), tokenizer.rejectedCount()));
+        }
+    }
+}
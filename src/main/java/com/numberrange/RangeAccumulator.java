@@ -0,0 +1,120 @@
+package com.numberrange;
+
+/**
+ * Mergeable accumulation state behind {@link RangeCollectors}.
+ *
+ * Values are kept as start/end pairs: a value right after the last range
+ * extends it, so ascending or clustered input stays as compact as its
+ * summary. Other values start a new pair. When the pair buffer fills up, the
+ * pairs are sorted and merged in place, and the buffer only grows if that did
+ * not free at least half of it, as a compacting {@link IntBuffer} does. Memory
+ * therefore follows the number of ranges, not the number of values added.
+ *
+ * Partial results from parallel substreams are combined by normalizing both
+ * sides and merge-joining them in one linear pass, which also joins ranges
+ * that meet across the chunk boundary.
+ *
+ * Not thread-safe; the stream framework gives each substream its own instance.
+ *
+ * @author Keuran Kisten
+ */
+final class RangeAccumulator {
+
+    private IntBuffer pairs = new IntBuffer();
+    // Pairs are sorted, disjoint and non-adjacent
+    private boolean normalized = true;
+
+    void add(int value) {
+        // Make room first: compaction re-sorts the pairs, so the checks below must see the result
+        if (pairs.size() + 2 > pairs.array().length) {
+            makeRoom();
+        }
+        int size = pairs.size();
+        if (size > 0) {
+            int lastEnd = pairs.get(size - 1);
+            if (value == lastEnd + 1L) {
+                pairs.set(size - 1, value);
+                return;
+            }
+            if (value >= pairs.get(size - 2) && value <= lastEnd) {
+                return; // already in the last range
+            }
+            normalized &= value > lastEnd;
+        }
+        pairs.add(value);
+        pairs.add(value);
+    }
+
+    /**
+     * Backing capacity in ints; for tests.
+     */
+    int capacity() {
+        return pairs.array().length;
+    }
+
+    /**
+     * Adds everything in {@code other}; {@code other} must not be used afterwards.
+     */
+    RangeAccumulator combine(RangeAccumulator other) {
+        normalize();
+        other.normalize();
+        int[] left = pairs.array();
+        int[] right = other.pairs.array();
+        int leftSize = pairs.size();
+        int rightSize = other.pairs.size();
+
+        IntBuffer merged = new IntBuffer(leftSize + rightSize);
+        int i = 0;
+        int j = 0;
+        while (i < leftSize || j < rightSize) {
+            if (j == rightSize || (i < leftSize && left[i] <= right[j])) {
+                append(merged, left[i], left[i + 1]);
+                i += 2;
+            } else {
+                append(merged, right[j], right[j + 1]);
+                j += 2;
+            }
+        }
+        pairs = merged;
+        return this;
+    }
+
+    /**
+     * Renders the ranges in the {@code summarizeCollection} format.
+     */
+    String summary() {
+        normalize();
+        return RangeRenderer.renderRanges(pairs.array(), pairs.size() >> 1);
+    }
+
+    /**
+     * Merges the pairs in place before growing, so repeated or overlapping values
+     * do not cost memory.
+     */
+    private void makeRoom() {
+        normalize();
+        if (pairs.size() > pairs.array().length >> 1) {
+            pairs.growCapacity();
+        }
+    }
+
+    private void normalize() {
+        if (!normalized) {
+            pairs.truncate(2 * CompactRangeSet.mergePairs(pairs.array(), pairs.size() >> 1));
+            normalized = true;
+        }
+    }
+
+    /**
+     * Appends a range that starts at or after the last one, joining them if they touch.
+     */
+    private static void append(IntBuffer merged, int start, int end) {
+        int size = merged.size();
+        if (size > 0 && start <= merged.get(size - 1) + 1L) {
+            merged.set(size - 1, Math.max(end, merged.get(size - 1)));
+            return;
+        }
+        merged.add(start);
+        merged.add(end);
+    }
+}
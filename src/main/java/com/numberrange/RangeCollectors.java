@@ -0,0 +1,53 @@
+package com.numberrange;
+
+import java.util.stream.Collector;
+import java.util.stream.IntStream;
+
+/**
+ * Stream collectors that produce range summaries.
+ *
+ * Each substream accumulates start/end pairs and partial results are merged
+ * with a real combiner, so {@code parallelStream()} pipelines summarize in
+ * parallel instead of collecting to a list first. Output is the same as
+ * {@code summarizeCollection} over the streamed values.
+ *
+ * @author Keuran Kisten
+ */
+public final class RangeCollectors {
+
+    private RangeCollectors() {
+    }
+
+    /**
+     * Collects integers into a range summary such as {@code "1, 3, 6-8"}.
+     * Null elements are skipped, like {@code summarizeCollection} does.
+     *
+     * @return an unordered collector; empty string for an empty stream
+     */
+    public static Collector<Integer, ?, String> toRangeSummary() {
+        return Collector.of(
+            RangeAccumulator::new,
+            (accumulator, value) -> {
+                if (value != null) {
+                    accumulator.add(value);
+                }
+            },
+            RangeAccumulator::combine,
+            RangeAccumulator::summary,
+            Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Summarizes a primitive stream without boxing, sequential or parallel.
+     *
+     * @param values stream to consume
+     * @return formatted ranges; empty string for an empty stream
+     * @throws IllegalArgumentException if values is null
+     */
+    public static String summarize(IntStream values) {
+        if (values == null) {
+            throw new IllegalArgumentException("Stream must not be null");
+        }
+        return values.collect(RangeAccumulator::new, RangeAccumulator::add, RangeAccumulator::combine).summary();
+    }
+}
@@ -0,0 +1,208 @@
+package com.numberrange;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+
+/**
+ * Writes ranges such as {@code "1, 3, 6-8"} straight into a character buffer.
+ * 
+ * Digits are produced directly, so no String is created per number or per
+ * range. For a String result the buffer is sized exactly up front; for an
+ * {@link Appendable} a small buffer is flushed to the target as it fills,
+ * so the whole output is never materialised.
+ * 
+ * Not thread-safe; each render uses its own instance.
+ * 
+ * @author Keuran Kisten
+ */
+final class RangeRenderer {
+
+    private static final int BUFFER_SIZE = 4096;
+    // ", " + "-2147483648" + "-" + "-2147483648"
+    private static final int MAX_RANGE_LENGTH = 25;
+
+    private final Appendable out;
+    private final char[] buffer;
+    private final CharBuffer view;
+    private int position;
+    private boolean empty = true;
+
+    private RangeRenderer(Appendable out, char[] buffer) {
+        this.out = out;
+        this.buffer = buffer;
+        this.view = out == null || out instanceof Writer ? null : CharBuffer.wrap(buffer);
+    }
+
+    /**
+     * Renders sorted, unique values as a String of exactly the right size.
+     */
+    static String render(int[] sorted, int length) {
+        if (length == 0) {
+            return "";
+        }
+        char[] chars = new char[renderedLength(sorted, length)];
+        RangeRenderer renderer = new RangeRenderer(null, chars);
+        
+        for (int i = 0; i < length; ) {
+            int last = lastOfRange(sorted, i, length);
+            renderer.putRange(sorted[i], sorted[last]);
+            i = last + 1;
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Renders sorted, unique values to an Appendable in buffered chunks.
+     * The target is not flushed or closed.
+     */
+    static void render(int[] sorted, int length, Appendable out) throws IOException {
+        RangeRenderer renderer = new RangeRenderer(out, new char[BUFFER_SIZE]);
+        
+        for (int i = 0; i < length; ) {
+            int last = lastOfRange(sorted, i, length);
+            renderer.appendRange(sorted[i], sorted[last]);
+            i = last + 1;
+        }
+        renderer.flush();
+    }
+
+    /**
+     * Renders start/end pairs, already merged and in order, as a String of exactly the right size.
+     */
+    static String renderRanges(int[] bounds, int rangeCount) {
+        if (rangeCount == 0) {
+            return "";
+        }
+        long total = 2L * (rangeCount - 1);
+        for (int i = 0; i < rangeCount; i++) {
+            total += rangeLength(bounds[2 * i], bounds[2 * i + 1]);
+        }
+        if (total > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Summary too large for a String: " + total + " characters");
+        }
+        
+        char[] chars = new char[(int) total];
+        RangeRenderer renderer = new RangeRenderer(null, chars);
+        for (int i = 0; i < rangeCount; i++) {
+            renderer.putRange(bounds[2 * i], bounds[2 * i + 1]);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Renders start/end pairs to an Appendable in buffered chunks.
+     * The target is not flushed or closed.
+     */
+    static void renderRanges(int[] bounds, int rangeCount, Appendable out) throws IOException {
+        RangeRenderer renderer = new RangeRenderer(out, new char[BUFFER_SIZE]);
+        for (int i = 0; i < rangeCount; i++) {
+            renderer.appendRange(bounds[2 * i], bounds[2 * i + 1]);
+        }
+        renderer.flush();
+    }
+
+    /**
+     * Index of the last element of the consecutive run starting at {@code start}.
+     */
+    static int lastOfRange(int[] sorted, int start, int length) {
+        int last = start;
+        while (last + 1 < length && sorted[last + 1] == sorted[last] + 1) {
+            last++;
+        }
+        return last;
+    }
+
+    /**
+     * Number of ranges, single values included, in sorted unique values.
+     */
+    static int rangeCount(int[] sorted, int length) {
+        int count = length == 0 ? 0 : 1;
+        for (int i = 1; i < length; i++) {
+            if (sorted[i] != sorted[i - 1] + 1) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Exact number of characters the rendered ranges will take.
+     */
+    static int renderedLength(int[] sorted, int length) {
+        long total = 0;
+        for (int i = 0; i < length; ) {
+            int last = lastOfRange(sorted, i, length);
+            total += rangeLength(sorted[i], sorted[last]) + (i == 0 ? 0 : 2);
+            i = last + 1;
+        }
+        if (total > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Summary too large for a String: " + total + " characters");
+        }
+        return (int) total;
+    }
+
+    static int rangeLength(int start, int end) {
+        return start == end ? stringSize(start) : stringSize(start) + 1 + stringSize(end);
+    }
+
+    static int stringSize(int value) {
+        int size = value < 0 ? 2 : 1;
+        // Work with the negative magnitude so MIN_VALUE does not overflow
+        int q = value < 0 ? value : -value;
+        while (q <= -10) {
+            q /= 10;
+            size++;
+        }
+        return size;
+    }
+
+    private void appendRange(int start, int end) throws IOException {
+        if (buffer.length - position < MAX_RANGE_LENGTH) {
+            flush();
+        }
+        putRange(start, end);
+    }
+
+    private void putRange(int start, int end) {
+        if (!empty) {
+            buffer[position++] = ',';
+            buffer[position++] = ' ';
+        }
+        empty = false;
+        
+        putInt(start);
+        if (start != end) {
+            buffer[position++] = '-';
+            putInt(end);
+        }
+    }
+
+    private void putInt(int value) {
+        int end = position + stringSize(value);
+        int q = value < 0 ? value : -value;
+        int i = end;
+        do {
+            int next = q / 10;
+            buffer[--i] = (char) ('0' + (next * 10 - q));
+            q = next;
+        } while (q != 0);
+        
+        if (value < 0) {
+            buffer[position] = '-';
+        }
+        position = end;
+    }
+
+    private void flush() throws IOException {
+        if (position == 0) {
+            return;
+        }
+        if (out instanceof Writer) {
+            ((Writer) out).write(buffer, 0, position);
+        } else {
+            out.append(view, 0, position);
+        }
+        position = 0;
+    }
+}
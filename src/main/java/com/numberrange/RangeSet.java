@@ -0,0 +1,295 @@
+package com.numberrange;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Mutable set of integers kept as disjoint {@code [start, end]} ranges, for
+ * summaries that change a few values at a time, such as a live list of IDs
+ * missing from a feed.
+ *
+ * Ranges are held in a {@link TreeMap} from start to end, so {@link #add(int)},
+ * {@link #remove(int)}, {@link #addRange(int, int)} and {@link #removeRange(int, int)}
+ * merge or split neighbouring ranges in O(log r) for r ranges, plus O(k log r)
+ * for k ranges swallowed by a wide range operation.
+ *
+ * {@link #toSummaryString()} produces the same text as
+ * {@code summarizeCollection} and is cached. Below the full String, the text
+ * is also cached in segments of up to 64 ranges. A change only drops the
+ * segments around the changed values, and re-rendering stops at the next
+ * cached segment, so the next summary re-renders those few and copies the
+ * rest, instead of walking every range. Short neighbouring segments are
+ * merged while they fit in 64 ranges, so repeated changes do not leave the
+ * cache in fragments.
+ *
+ * Not thread-safe.
+ *
+ * @author Keuran Kisten
+ */
+public final class RangeSet {
+
+    private static final int SEGMENT_RANGES = 64;
+
+    private final TreeMap<Integer, Integer> ranges = new TreeMap<>();
+    // Rendered text keyed by the start of the segment's first range
+    private final TreeMap<Integer, Segment> segments = new TreeMap<>();
+    private long count;
+    private String summary;
+    private int segmentRenders;
+
+    /**
+     * Adds a single value.
+     *
+     * @return true if the value was not already present
+     */
+    public boolean add(int value) {
+        return addRange(value, value);
+    }
+
+    /**
+     * Removes a single value.
+     *
+     * @return true if the value was present
+     */
+    public boolean remove(int value) {
+        return removeRange(value, value);
+    }
+
+    /**
+     * Adds every value in {@code [from, to]}, merging with overlapping and adjacent ranges.
+     *
+     * @param from first value, inclusive
+     * @param to last value, inclusive
+     * @return true if the set changed
+     * @throws IllegalArgumentException if from is greater than to
+     */
+    public boolean addRange(int from, int to) {
+        checkRange(from, to);
+        long before = count;
+
+        int start = from;
+        int end = to;
+        Map.Entry<Integer, Integer> left = ranges.floorEntry(from);
+        if (left != null && left.getValue() >= from - 1L) {
+            start = left.getKey();
+            end = Math.max(end, left.getValue());
+        }
+
+        // Swallow every range that starts inside or right after the new one
+        NavigableMap<Integer, Integer> covered = to == Integer.MAX_VALUE
+            ? ranges.tailMap(start, true)
+            : ranges.subMap(start, true, to + 1, true);
+        for (Iterator<Map.Entry<Integer, Integer>> it = covered.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<Integer, Integer> range = it.next();
+            end = Math.max(end, range.getValue());
+            count -= length(range.getKey(), range.getValue());
+            it.remove();
+        }
+
+        ranges.put(start, end);
+        count += length(start, end);
+        return changed(before, from, to);
+    }
+
+    /**
+     * Removes every value in {@code [from, to]}, splitting a range that extends past either end.
+     *
+     * @param from first value, inclusive
+     * @param to last value, inclusive
+     * @return true if the set changed
+     * @throws IllegalArgumentException if from is greater than to
+     */
+    public boolean removeRange(int from, int to) {
+        checkRange(from, to);
+        long before = count;
+        int tailEnd = to;
+
+        Map.Entry<Integer, Integer> left = ranges.lowerEntry(from);
+        if (left != null && left.getValue() >= from) {
+            count -= length(from, left.getValue());
+            ranges.put(left.getKey(), from - 1);
+            tailEnd = Math.max(tailEnd, left.getValue());
+        }
+
+        for (Iterator<Map.Entry<Integer, Integer>> it = ranges.subMap(from, true, to, true).entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<Integer, Integer> range = it.next();
+            count -= length(range.getKey(), range.getValue());
+            tailEnd = Math.max(tailEnd, range.getValue());
+            it.remove();
+        }
+
+        // Whatever extended past the removed values survives as one range
+        if (tailEnd > to) {
+            ranges.put(to + 1, tailEnd);
+            count += length(to + 1, tailEnd);
+        }
+        return changed(before, from, to);
+    }
+
+    public boolean contains(int value) {
+        Map.Entry<Integer, Integer> range = ranges.floorEntry(value);
+        return range != null && range.getValue() >= value;
+    }
+
+    /**
+     * @return number of values in the set, which can exceed {@code Integer.MAX_VALUE}
+     */
+    public long size() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return ranges.isEmpty();
+    }
+
+    /**
+     * @return number of disjoint ranges, i.e. entries in the summary
+     */
+    public int rangeCount() {
+        return ranges.size();
+    }
+
+    public void clear() {
+        ranges.clear();
+        segments.clear();
+        count = 0;
+        summary = null;
+    }
+
+    /**
+     * Renders the set like {@code summarizeCollection}, e.g. {@code "1, 3, 6-8"}.
+     *
+     * Unchanged segments of 64 ranges are reused from earlier calls and the whole
+     * String is cached until the next change.
+     *
+     * @return formatted ranges; empty string if the set is empty
+     */
+    public String toSummaryString() {
+        if (summary == null) {
+            summary = render();
+        }
+        return summary;
+    }
+
+    @Override
+    public String toString() {
+        return toSummaryString();
+    }
+
+    /**
+     * @return number of segments rendered so far, for tests
+     */
+    int segmentRenders() {
+        return segmentRenders;
+    }
+
+    private String render() {
+        if (ranges.isEmpty()) {
+            return "";
+        }
+        StringBuilder out = new StringBuilder();
+        Integer cursor = ranges.firstKey();
+        while (cursor != null) {
+            Segment segment = segments.get(cursor);
+            if (segment == null) {
+                segment = renderSegment(cursor);
+            }
+            if (out.length() > 0) {
+                out.append(", ");
+            }
+            out.append(segment.text);
+            cursor = segment.next;
+        }
+        return out.toString();
+    }
+
+    /**
+     * Renders up to 64 ranges from {@code start}, stopping at the next cached segment
+     * so that a change never shifts the boundaries of the segments after it. A
+     * cached segment is absorbed instead if both fit in one segment together.
+     */
+    private Segment renderSegment(int start) {
+        int[] bounds = new int[2 * SEGMENT_RANGES];
+        int rendered = 0;
+        Integer next = null;
+        Map.Entry<Integer, Segment> following = segments.higherEntry(start);
+        for (Map.Entry<Integer, Integer> range : ranges.tailMap(start, true).entrySet()) {
+            while (following != null && range.getKey() >= following.getKey()
+                   && rendered + following.getValue().ranges <= SEGMENT_RANGES) {
+                following = segments.higherEntry(following.getKey());
+            }
+            if (rendered == SEGMENT_RANGES || following != null && range.getKey() >= following.getKey()) {
+                next = range.getKey();
+                break;
+            }
+            bounds[2 * rendered] = range.getKey();
+            bounds[2 * rendered + 1] = range.getValue();
+            rendered++;
+        }
+
+        Segment segment = new Segment(RangeRenderer.renderRanges(bounds, rendered), rendered, next);
+        segmentRenders++;
+        // Absorbed or stale segments inside the span this one now covers are never reached again
+        (next == null ? segments.tailMap(start, true) : segments.subMap(start, true, next, false)).clear();
+        segments.put(start, segment);
+        return segment;
+    }
+
+    private boolean changed(long before, int from, int to) {
+        // Adding and removing both move the count unless nothing happened
+        if (count == before) {
+            return false;
+        }
+        summary = null;
+        invalidate(from - 1L, to + 1L);
+        return true;
+    }
+
+    /**
+     * Drops the segments whose span touches {@code [from, to]}. The neighbours of the
+     * changed values are included, since merging or splitting also changes the ranges
+     * that end or start right next to them.
+     */
+    private void invalidate(long from, long to) {
+        int low = (int) Math.max(from, Integer.MIN_VALUE);
+        int high = (int) Math.min(to, Integer.MAX_VALUE);
+        Map.Entry<Integer, Segment> covering = segments.floorEntry(low);
+        if (covering != null && covering.getValue().limit() > low) {
+            segments.remove(covering.getKey());
+        }
+        segments.subMap(low, true, high, true).clear();
+    }
+
+    private static long length(int start, int end) {
+        return (long) end - start + 1;
+    }
+
+    private static void checkRange(int from, int to) {
+        if (from > to) {
+            throw new IllegalArgumentException("Range start must not be greater than its end: " + from + " > " + to);
+        }
+    }
+
+    /**
+     * Rendered text of consecutive ranges, covering range starts from its key
+     * up to (excluding) the start of the next range after them.
+     */
+    private static final class Segment {
+        final String text;
+        final int ranges;
+        // Start of the first range after this segment; null at the end of the set
+        final Integer next;
+
+        Segment(String text, int ranges, Integer next) {
+            this.text = text;
+            this.ranges = ranges;
+            this.next = next;
+        }
+
+        long limit() {
+            return next == null ? Long.MAX_VALUE : next;
+        }
+    }
+}
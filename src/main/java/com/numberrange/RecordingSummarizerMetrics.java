@@ -0,0 +1,192 @@
+package com.numberrange;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory {@link SummarizerMetrics}: totals plus a latency histogram per phase.
+ *
+ * Everything is kept in {@link LongAdder}s, so concurrent calls do not contend.
+ * Histograms use power-of-two buckets (64 counters each), which bounds memory
+ * and gives percentiles within a factor of two. Read the values periodically
+ * and export them to a monitoring system, or print {@link #toString()}.
+ *
+ * Thread-safe.
+ *
+ * @author Keuran Kisten
+ */
+public final class RecordingSummarizerMetrics implements SummarizerMetrics {
+
+    private final Histogram parse = new Histogram();
+    private final Histogram sort = new Histogram();
+    private final Histogram render = new Histogram();
+
+    private final LongAdder inputLength = new LongAdder();
+    private final LongAdder tokens = new LongAdder();
+    private final LongAdder invalidTokens = new LongAdder();
+    private final LongAdder duplicatesRemoved = new LongAdder();
+    private final LongAdder ranges = new LongAdder();
+    // Filled once here and only read afterwards, so a plain EnumMap is safe to share
+    private final Map<SortStrategy, LongAdder> sorts = new EnumMap<>(SortStrategy.class);
+
+    public RecordingSummarizerMetrics() {
+        for (SortStrategy strategy : SortStrategy.values()) {
+            sorts.put(strategy, new LongAdder());
+        }
+    }
+
+    @Override
+    public void recordParse(long nanos, long inputLength, long tokens, long invalidTokens) {
+        parse.record(nanos);
+        this.inputLength.add(inputLength);
+        this.tokens.add(tokens);
+        this.invalidTokens.add(invalidTokens);
+    }
+
+    @Override
+    public void recordSort(long nanos, SortStrategy strategy, long values, long duplicatesRemoved) {
+        sort.record(nanos);
+        sorts.get(strategy).increment();
+        this.duplicatesRemoved.add(duplicatesRemoved);
+    }
+
+    @Override
+    public void recordRender(long nanos, int ranges) {
+        render.record(nanos);
+        this.ranges.add(ranges);
+    }
+
+    public Histogram getParseLatency() {
+        return parse;
+    }
+
+    public Histogram getSortLatency() {
+        return sort;
+    }
+
+    public Histogram getRenderLatency() {
+        return render;
+    }
+
+    /**
+     * @return characters, or bytes for byte sources, parsed so far
+     */
+    public long getInputLength() {
+        return inputLength.sum();
+    }
+
+    public long getTokenCount() {
+        return tokens.sum();
+    }
+
+    public long getInvalidTokenCount() {
+        return invalidTokens.sum();
+    }
+
+    public long getDuplicatesRemoved() {
+        return duplicatesRemoved.sum();
+    }
+
+    /**
+     * @return ranges rendered so far, single values included
+     */
+    public long getRangeCount() {
+        return ranges.sum();
+    }
+
+    /**
+     * @param strategy algorithm as chosen by the sort engine
+     * @return number of sorts that used it
+     */
+    public long getSortCount(SortStrategy strategy) {
+        if (strategy == null) {
+            throw new IllegalArgumentException("Sort strategy must not be null");
+        }
+        return sorts.get(strategy).sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("parse{%s} sort{%s} render{%s} input=%d tokens=%d invalid=%d duplicates=%d ranges=%d",
+                             parse, sort, render, getInputLength(), getTokenCount(), getInvalidTokenCount(),
+                             getDuplicatesRemoved(), getRangeCount());
+    }
+
+    /**
+     * Latency histogram with power-of-two buckets: bucket {@code i} counts
+     * durations below {@code 2^i} nanoseconds and at least {@code 2^(i-1)}.
+     */
+    public static final class Histogram {
+        private static final int BUCKETS = 64;
+
+        private final LongAdder[] buckets = new LongAdder[BUCKETS];
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        Histogram() {
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        void record(long nanos) {
+            long value = Math.max(nanos, 0);
+            buckets[Math.min(BUCKETS - Long.numberOfLeadingZeros(value), BUCKETS - 1)].increment();
+            totalNanos.add(value);
+            maxNanos.accumulate(value);
+        }
+
+        public long getCount() {
+            long count = 0;
+            for (LongAdder bucket : buckets) {
+                count += bucket.sum();
+            }
+            return count;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos.sum();
+        }
+
+        public long getMaxNanos() {
+            return maxNanos.get();
+        }
+
+        /**
+         * @param percentile between 0 and 100
+         * @return upper bound of the bucket holding that percentile, at most the maximum; 0 if empty
+         */
+        public long percentileNanos(double percentile) {
+            if (percentile < 0 || percentile > 100) {
+                throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+            }
+            long[] counts = new long[BUCKETS];
+            long count = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = buckets[i].sum();
+                count += counts[i];
+            }
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    long upperBound = i == BUCKETS - 1 ? Long.MAX_VALUE : (1L << i) - 1;
+                    return Math.min(upperBound, getMaxNanos());
+                }
+            }
+            return getMaxNanos();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("count=%d p50=%dns p99=%dns max=%dns",
+                                 getCount(), percentileNanos(50), percentileNanos(99), getMaxNanos());
+        }
+    }
+}
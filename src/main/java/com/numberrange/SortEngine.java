@@ -0,0 +1,375 @@
+package com.numberrange;
+
+import java.util.Arrays;
+
+/**
+ * Sort and de-duplicate step of the primitive pipeline.
+ * 
+ * Works in place on {@code int[]}: no boxing, no comparator calls and a
+ * cache-friendly layout, compared with sorting a {@code List<Integer>}.
+ * Large inputs can use an LSD radix sort, which is linear in the number of
+ * values, and dense inputs a bitmap over their value span, which never
+ * compares values at all. Which algorithm runs is decided by the configured
+ * {@link SortStrategy}.
+ * 
+ * With {@link SortStrategy#AUTO} every input is first measured in one linear
+ * pass (count, min/max span, number of descending steps and number of values
+ * below the ascending sequence so far) and the first matching rule of this
+ * cost model picks the algorithm:
+ * 
+ * 1. No descending steps (already ascending): no sort, one de-duplication pass, O(n).
+ * 2. Fewer than 32 values: comparison sort. Its insertion sort is cheapest
+ *    and a bitmap or radix histogram would cost more than the sort.
+ * 3. Fewer than 64 descending steps, at most one per 16 values, and at most 1/8 of
+ *    the values below the sequence so far (nearly sorted): only the out-of-order
+ *    values are sorted and merged back, O(n + k log k). A few long sorted runs that
+ *    overlap, such as concatenated chunk results, fail the last check.
+ * 4. {@code max - min < bitmapSpanFactor * n} (dense): bitmap, O(n + span / 64).
+ * 5. At least {@code radixThreshold} values: radix sort, O(n) in three passes.
+ * 6. Otherwise: comparison sort, O(n log n).
+ * 
+ * Immutable and thread-safe.
+ * 
+ * @author Keuran Kisten
+ */
+final class SortEngine {
+
+    static final int DEFAULT_RADIX_THRESHOLD = 1 << 12;
+    // A span of 32 bits per value keeps the bitmap about as large as the values themselves
+    static final int DEFAULT_BITMAP_SPAN_FACTOR = 32;
+    static final SortEngine DEFAULT =
+        new SortEngine(SortStrategy.AUTO, DEFAULT_RADIX_THRESHOLD, DEFAULT_BITMAP_SPAN_FACTOR);
+
+    // Cost model limits for AUTO
+    private static final int TINY_INPUT = 32;
+    private static final int NEARLY_SORTED_MAX_DESCENTS = 64;
+    private static final int NEARLY_SORTED_MIN_RUN = 16;
+    // The straggler path gives up once more than 1/8 of the values are out of order
+    private static final int MAX_STRAGGLER_SHIFT = 3;
+
+    // 11-bit digits: three passes cover 32 bits (11 + 11 + 10)
+    private static final int DIGIT_BITS = 11;
+    private static final int DIGIT_MASK = (1 << DIGIT_BITS) - 1;
+    private static final int PASSES = 3;
+
+    // Explicit BITMAP requests still need at least one value per 64-bit word
+    private static final int MAX_BITMAP_SPAN_FACTOR = 64;
+
+    private final SortStrategy strategy;
+    private final int radixThreshold;
+    private final int bitmapSpanFactor;
+
+    /**
+     * @param strategy algorithm to use
+     * @param radixThreshold with {@link SortStrategy#AUTO}, inputs of at least this many values use radix sort
+     * @param bitmapSpanFactor with {@link SortStrategy#AUTO}, inputs whose {@code max - min} is below this
+     *        multiple of their size use the bitmap; 0 disables the bitmap
+     */
+    SortEngine(SortStrategy strategy, int radixThreshold, int bitmapSpanFactor) {
+        this.strategy = strategy;
+        this.radixThreshold = radixThreshold;
+        this.bitmapSpanFactor = bitmapSpanFactor;
+    }
+
+    /**
+     * Result of the measuring pass over an input.
+     */
+    static final class Shape {
+        final int length;
+        final int min;
+        final int max;
+        // Number of positions where a value is smaller than its predecessor
+        final int descents;
+        // Number of values below the largest value already followed by a value at least as large
+        final int displaced;
+
+        Shape(int length, int min, int max, int descents, int displaced) {
+            this.length = length;
+            this.min = min;
+            this.max = max;
+            this.descents = descents;
+            this.displaced = displaced;
+        }
+
+        long span() {
+            return (long) max - min;
+        }
+    }
+
+    /**
+     * Measures count, min/max and sortedness of {@code values[0, length)} in one pass.
+     * 
+     * A value only raises the bar for {@code displaced} once its successor confirms it,
+     * so a lone spike is not counted against every value after it.
+     */
+    static Shape measure(int[] values, int length) {
+        if (length == 0) {
+            return new Shape(0, 0, 0, 0, 0);
+        }
+        int min = values[0];
+        int max = min;
+        int descents = 0;
+        int displaced = 0;
+        int confirmed = Integer.MIN_VALUE;
+        for (int i = 1; i < length; i++) {
+            int value = values[i];
+            int previous = values[i - 1];
+            if (value < previous) {
+                descents++;
+            } else if (previous > confirmed) {
+                confirmed = previous;
+            }
+            if (value < confirmed) {
+                displaced++;
+            }
+            if (value < min) {
+                min = value;
+            } else if (value > max) {
+                max = value;
+            }
+        }
+        return new Shape(length, min, max, descents, displaced);
+    }
+
+    /**
+     * Sorts {@code values[0, length)} ascending and removes duplicates in place.
+     * 
+     * @return number of unique values, which now occupy {@code values[0, returned)}
+     */
+    int sortUnique(int[] values, int length) {
+        if (length < 2) {
+            return length;
+        }
+        Shape shape = measure(values, length);
+        return sortUnique(values, shape, choose(shape));
+    }
+
+    /**
+     * Sorts and de-duplicates a measured input with the given algorithm.
+     * 
+     * @return number of unique values
+     */
+    int sortUnique(int[] values, Shape shape, SortStrategy algorithm) {
+        int length = shape.length;
+        if (length < 2) {
+            return length;
+        }
+        switch (algorithm) {
+            case PRESORTED:
+                return shape.descents == 0 ? deduplicateSorted(values, length) : mergeStragglersUnique(values, shape);
+            case BITMAP:
+                return bitmapSortUnique(values, length, shape.min, shape.max);
+            case RADIX:
+                return radixSortUnique(values, length);
+            default:
+                Arrays.sort(values, 0, length);
+                return deduplicateSorted(values, length);
+        }
+    }
+
+    /**
+     * The concrete algorithm used for a measured input; never {@link SortStrategy#AUTO}.
+     */
+    SortStrategy choose(Shape shape) {
+        int length = shape.length;
+        long span = shape.span();
+        switch (strategy) {
+            case AUTO:
+                if (shape.descents == 0) {
+                    return SortStrategy.PRESORTED;
+                }
+                if (length < TINY_INPUT) {
+                    return SortStrategy.COMPARISON;
+                }
+                if (isNearlySorted(shape)) {
+                    return SortStrategy.PRESORTED;
+                }
+                return chooseUnsorted(shape);
+            case PRESORTED:
+                return shape.descents == 0 || isNearlySorted(shape) ? SortStrategy.PRESORTED : SortStrategy.COMPARISON;
+            case BITMAP:
+                return span < (long) MAX_BITMAP_SPAN_FACTOR * length ? SortStrategy.BITMAP : SortStrategy.RADIX;
+            default:
+                return strategy;
+        }
+    }
+
+    /**
+     * Rules 4 to 6 of the cost model: the algorithm for input that is not (nearly) sorted.
+     */
+    private SortStrategy chooseUnsorted(Shape shape) {
+        int length = shape.length;
+        if (shape.span() < (long) bitmapSpanFactor * length) {
+            return SortStrategy.BITMAP;
+        }
+        return length >= radixThreshold ? SortStrategy.RADIX : SortStrategy.COMPARISON;
+    }
+
+    private static boolean isNearlySorted(Shape shape) {
+        return shape.descents < NEARLY_SORTED_MAX_DESCENTS
+            && (long) shape.descents * NEARLY_SORTED_MIN_RUN <= shape.length
+            && shape.displaced <= shape.length >>> MAX_STRAGGLER_SHIFT;
+    }
+
+    /**
+     * Removes adjacent duplicates from an already sorted range in a single pass.
+     * 
+     * @return number of unique values
+     */
+    static int deduplicateSorted(int[] values, int length) {
+        if (length < 2) {
+            return length;
+        }
+        int unique = 1;
+        for (int i = 1; i < length; i++) {
+            if (values[i] != values[unique - 1]) {
+                values[unique++] = values[i];
+            }
+        }
+        return unique;
+    }
+
+    /**
+     * Sorts a nearly sorted range by moving the few out-of-order values aside,
+     * sorting only those and merging them back, then de-duplicates.
+     * 
+     * One greedy pass keeps an ascending subsequence in place. A value below the
+     * last kept one is set aside, unless the last kept value is the outlier (a spike
+     * followed by values that fit the sequence again), in which case that one is.
+     * When too many values are set aside the range is restored to a permutation
+     * of its input and handed to the algorithm the cost model picks for unsorted input.
+     */
+    int mergeStragglersUnique(int[] values, Shape shape) {
+        int length = shape.length;
+        int maxStragglers = length >>> MAX_STRAGGLER_SHIFT;
+        int[] stragglers = new int[maxStragglers + 1];
+        int count = 0;
+        int kept = 0;
+        for (int i = 0; i < length; i++) {
+            int value = values[i];
+            if (kept == 0 || value >= values[kept - 1]) {
+                values[kept++] = value;
+                continue;
+            }
+            
+            boolean spike = (kept < 2 || value >= values[kept - 2])
+                && (i + 1 == length || values[i + 1] >= value);
+            if (spike) {
+                stragglers[count++] = values[kept - 1];
+                values[kept - 1] = value;
+            } else {
+                stragglers[count++] = value;
+            }
+            
+            if (count > maxStragglers) {
+                // values[kept, i] is free: put the set-aside values back and sort everything
+                System.arraycopy(stragglers, 0, values, kept, count);
+                return sortUnique(values, shape, chooseUnsorted(shape));
+            }
+        }
+
+        // Merge from the back so the kept prefix is never overwritten before it is read
+        Arrays.sort(stragglers, 0, count);
+        int left = kept - 1;
+        int right = count - 1;
+        for (int target = length - 1; right >= 0; target--) {
+            if (left >= 0 && values[left] > stragglers[right]) {
+                values[target] = values[left--];
+            } else {
+                values[target] = stragglers[right--];
+            }
+        }
+        return deduplicateSorted(values, length);
+    }
+
+    /**
+     * LSD radix sort followed by de-duplication.
+     * 
+     * Digits are taken from the value with its sign bit flipped, so negative numbers
+     * order before positive ones. All digit histograms are built in one pass, and a
+     * pass is skipped when every value has the same digit (common for dense data).
+     * The de-duplication is fused with the copy back from the scratch array.
+     */
+    static int radixSortUnique(int[] values, int length) {
+        int[][] counts = new int[PASSES][DIGIT_MASK + 1];
+        for (int i = 0; i < length; i++) {
+            int key = values[i] ^ Integer.MIN_VALUE;
+            counts[0][key & DIGIT_MASK]++;
+            counts[1][(key >>> DIGIT_BITS) & DIGIT_MASK]++;
+            counts[2][key >>> (2 * DIGIT_BITS)]++;
+        }
+
+        int[] source = values;
+        int[] target = new int[length];
+        for (int pass = 0; pass < PASSES; pass++) {
+            int[] count = counts[pass];
+            int shift = pass * DIGIT_BITS;
+            if (count[((source[0] ^ Integer.MIN_VALUE) >>> shift) & DIGIT_MASK] == length) {
+                continue; // every value shares this digit
+            }
+            
+            // Turn the histogram into starting offsets
+            int offset = 0;
+            for (int digit = 0; digit < count.length; digit++) {
+                int bucketSize = count[digit];
+                count[digit] = offset;
+                offset += bucketSize;
+            }
+            for (int i = 0; i < length; i++) {
+                int value = source[i];
+                target[count[((value ^ Integer.MIN_VALUE) >>> shift) & DIGIT_MASK]++] = value;
+            }
+            
+            int[] swap = source;
+            source = target;
+            target = swap;
+        }
+
+        if (source == values) {
+            return deduplicateSorted(values, length);
+        }
+        
+        // Sorted data ended in the scratch array: de-duplicate while copying back
+        int unique = 0;
+        for (int i = 0; i < length; i++) {
+            int value = source[i];
+            if (unique == 0 || value != values[unique - 1]) {
+                values[unique++] = value;
+            }
+        }
+        return unique;
+    }
+
+    /**
+     * Sorts and de-duplicates by setting one bit per value in a bitmap over {@code [min, max]}.
+     * 
+     * Duplicates simply set the same bit again. The sorted values are then read back
+     * run by run: {@code Long.numberOfTrailingZeros} finds where a run of set bits starts
+     * and, on the inverted word, how long it is, so consecutive values cost no per-bit work.
+     */
+    static int bitmapSortUnique(int[] values, int length, int min, int max) {
+        long[] bits = new long[(int) ((((long) max - min) >>> 6) + 1)];
+        for (int i = 0; i < length; i++) {
+            int offset = values[i] - min; // the span fits in 32 unsigned bits
+            bits[offset >>> 6] |= 1L << offset;
+        }
+
+        int unique = 0;
+        for (int index = 0; index < bits.length; index++) {
+            long word = bits[index];
+            while (word != 0) {
+                int start = Long.numberOfTrailingZeros(word);
+                int run = Long.numberOfTrailingZeros(~(word >>> start));
+                
+                int first = min + (index << 6) + start;
+                for (int k = 0; k < run; k++) {
+                    values[unique++] = first + k;
+                }
+                
+                int next = start + run;
+                word = next >= 64 ? 0 : word & (-1L << next);
+            }
+        }
+        return unique;
+    }
+}
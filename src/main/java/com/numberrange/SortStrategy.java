@@ -0,0 +1,42 @@
+package com.numberrange;
+
+/**
+ * Algorithm used to sort and de-duplicate parsed values.
+ * 
+ * @author Keuran Kisten
+ */
+public enum SortStrategy {
+
+    /**
+     * Picks an algorithm per call from a one-pass measurement of the input:
+     * a linear pass for ascending or nearly sorted inputs, comparison sort for tiny ones, the bitmap for dense values,
+     * otherwise radix or comparison sort depending on the number of values.
+     * See {@link CollectResult#getSortStrategy()} for the algorithm that ran.
+     */
+    AUTO,
+
+    /**
+     * Linear path for input that is already in ascending order: a single
+     * de-duplication pass, or, when a few values are out of order, sorting just
+     * those and merging them back. Falls back to comparison sort otherwise.
+     */
+    PRESORTED,
+
+    /**
+     * Comparison sort ({@code Arrays.sort(int[])}): O(n log n), fastest for small inputs.
+     */
+    COMPARISON,
+
+    /**
+     * LSD radix sort over 11-bit digits: O(n) with sequential memory access,
+     * fastest for large inputs. Needs a temporary array as large as the input.
+     */
+    RADIX,
+
+    /**
+     * Bitmap over {@code [min, max]}: sorts and de-duplicates in one linear pass
+     * without comparing values, for dense data such as invoice or page numbers.
+     * Falls back to radix sort when the span is more than 64 times the number of values.
+     */
+    BITMAP
+}
@@ -0,0 +1,67 @@
+package com.numberrange;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * Read-only list of sorted, unique integers backed by an {@code int[]}.
+ * 
+ * Returned by {@code collect}. The type itself marks the content as already
+ * sorted and de-duplicated, so {@code summarizeCollection} can build ranges
+ * straight from the backing array in O(n) without copying or re-sorting.
+ * Storage is 4 bytes per value; elements are boxed only when read.
+ * 
+ * Immutable, and therefore safe to share between threads.
+ * 
+ * @author Keuran Kisten
+ */
+final class SortedIntList extends AbstractList<Integer> implements RandomAccess {
+    
+    static final SortedIntList EMPTY = new SortedIntList(new int[0]);
+
+    private final int[] values;
+
+    /**
+     * @param values sorted, unique values; the array is owned by the list from now on
+     */
+    SortedIntList(int[] values) {
+        this.values = values;
+    }
+
+    @Override
+    public Integer get(int index) {
+        return values[index];
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        if (!(o instanceof Integer)) {
+            return -1;
+        }
+        int index = Arrays.binarySearch(values, (Integer) o);
+        return index >= 0 ? index : -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        return indexOf(o);
+    }
+
+    /**
+     * Backing array; must not be modified.
+     */
+    int[] array() {
+        return values;
+    }
+}
@@ -0,0 +1,52 @@
+package com.numberrange;
+
+/**
+ * Receives per-call measurements from {@link NumberRangeSummarizerImpl}.
+ *
+ * Plug an implementation in with {@link NumberRangeSummarizerImpl.Builder#metrics(SummarizerMetrics)}
+ * to feed a monitoring system; {@link RecordingSummarizerMetrics} keeps counters and
+ * latency histograms in memory. Every method defaults to doing nothing, so an
+ * implementation only overrides the phases it cares about.
+ *
+ * A call is split into up to three phases: parse (tokenizing the input), sort
+ * (sorting and removing duplicates) and render (writing the ranges). Each phase
+ * that a call performs is reported once, on the calling thread, after it
+ * finishes. With the default {@link #NOOP} the summarizer skips the clock reads
+ * and these calls altogether. Implementations must be thread-safe and fast;
+ * they run on the hot path. Counts are {@code long}, since a streamed or mapped
+ * input can hold more than {@code Integer.MAX_VALUE} tokens.
+ *
+ * @author Keuran Kisten
+ */
+public interface SummarizerMetrics {
+
+    /**
+     * Records nothing; the summarizer's default.
+     */
+    SummarizerMetrics NOOP = new SummarizerMetrics() { };
+
+    /**
+     * @param nanos time spent tokenizing
+     * @param inputLength characters read, or bytes for byte sources (InputStream, mapped file)
+     * @param tokens non-empty tokens seen, valid or not
+     * @param invalidTokens tokens rejected as invalid
+     */
+    default void recordParse(long nanos, long inputLength, long tokens, long invalidTokens) {
+    }
+
+    /**
+     * @param nanos time spent sorting and removing duplicates
+     * @param strategy algorithm the sort engine chose
+     * @param values values (or ranges) before removing duplicates
+     * @param duplicatesRemoved values dropped as duplicates, or ranges merged into others
+     */
+    default void recordSort(long nanos, SortStrategy strategy, long values, long duplicatesRemoved) {
+    }
+
+    /**
+     * @param nanos time spent writing the summary
+     * @param ranges ranges written, single values included
+     */
+    default void recordRender(long nanos, int ranges) {
+    }
+}
@@ -0,0 +1,125 @@
+package com.numberrange;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors for the batch and server entry points.
+ *
+ * The JAR is multi-release: on Java 21 and later tasks run on virtual threads,
+ * one per task, so thousands of requests blocked on slow clients each cost a
+ * small heap object instead of a platform thread. On older runtimes the same
+ * calls return a bounded platform pool.
+ *
+ * @author Keuran Kisten
+ */
+public final class TaskExecutors {
+
+    private TaskExecutors() {
+    }
+
+    /**
+     * @return true if this runtime supports virtual threads (Java 21+)
+     */
+    public static boolean virtualThreadsAvailable() {
+        return VirtualThreads.available();
+    }
+
+    /**
+     * Executor for independent, possibly blocking tasks: a virtual thread per task
+     * on Java 21+, otherwise {@link #boundedExecutor(String, int, int)}.
+     *
+     * The pool settings are validated on every runtime, so a call that works on
+     * Java 21 also works on older ones, but virtual threads ignore them.
+     *
+     * @param name prefix for thread names
+     * @param threads worker threads of the fallback pool; ignored with virtual threads
+     * @param queueCapacity queued tasks of the fallback pool; ignored with virtual threads
+     * @return a new executor; the caller shuts it down
+     */
+    public static ExecutorService newTaskExecutor(String name, int threads, int queueCapacity) {
+        validate(name, threads, queueCapacity);
+        if (VirtualThreads.available()) {
+            return VirtualThreads.newThreadPerTaskExecutor(name);
+        }
+        return boundedExecutor(name, threads, queueCapacity);
+    }
+
+    /**
+     * Bounded platform pool: fixed number of daemon threads and a bounded queue.
+     * Once the queue is full, {@code execute} throws {@link RejectedExecutionException},
+     * so an overloaded caller can shed load instead of running the task itself.
+     *
+     * @param name prefix for thread names
+     * @param threads number of worker threads
+     * @param queueCapacity number of tasks that may wait for a worker
+     * @return a new executor; the caller shuts it down
+     */
+    public static ThreadPoolExecutor boundedExecutor(String name, int threads, int queueCapacity) {
+        validate(name, threads, queueCapacity);
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = task -> {
+            Thread thread = new Thread(task, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                                      new ArrayBlockingQueue<>(queueCapacity), threadFactory,
+                                      new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    private static void validate(String name, int threads, int queueCapacity) {
+        if (name == null) {
+            throw new IllegalArgumentException("Name must not be null");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count must be positive: " + threads);
+        }
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("Queue capacity must be positive: " + queueCapacity);
+        }
+    }
+
+    /**
+     * Shared executor for callers that do not supply one: virtual threads on Java 21+,
+     * otherwise the common {@link ForkJoinPool}. Never shut down.
+     */
+    static Executor sharedExecutor() {
+        return SharedHolder.EXECUTOR;
+    }
+
+    /**
+     * Waits for a future and rethrows the original exception of a failed task,
+     * rather than the {@link CompletionException} wrapping it.
+     */
+    static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    private static final class SharedHolder {
+        // Virtual threads are not pooled, so an executor that is never shut down holds no threads
+        static final Executor EXECUTOR = VirtualThreads.available()
+                ? VirtualThreads.newThreadPerTaskExecutor("summarizer-shared")
+                : ForkJoinPool.commonPool();
+    }
+}
@@ -0,0 +1,31 @@
+package com.numberrange;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Access to virtual threads, which this Java 8 build does not have.
+ *
+ * The multi-release JAR carries a Java 21 version of this class in
+ * {@code META-INF/versions/21} that creates virtual-thread executors;
+ * this one is used on older runtimes.
+ *
+ * @author Keuran Kisten
+ */
+final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    static boolean available() {
+        return false;
+    }
+
+    /**
+     * @param name prefix for thread names
+     * @return an executor that starts a virtual thread per task
+     * @throws UnsupportedOperationException always on this runtime
+     */
+    static ExecutorService newThreadPerTaskExecutor(String name) {
+        throw new UnsupportedOperationException("Virtual threads require Java 21");
+    }
+}
@@ -0,0 +1,192 @@
+package com.numberrange.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Closed-loop load generator for {@link SummarizerHttpServer}.
+ *
+ * A fixed number of client threads each send POST requests back to back over
+ * keep-alive connections until the total is reached, then throughput and
+ * latency percentiles are reported. Meant for local measurements, not as a
+ * general benchmarking tool.
+ *
+ * Usage: {@code LoadGenerator [url] [concurrency] [requests] [valuesPerRequest]}
+ *
+ * @author Keuran Kisten
+ */
+public final class LoadGenerator {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private LoadGenerator() {
+    }
+
+    /**
+     * Outcome of a run.
+     */
+    public static final class Report {
+        private final int requests;
+        private final int failures;
+        private final long elapsedNanos;
+        private final long[] sortedLatencies;
+
+        Report(int requests, int failures, long elapsedNanos, long[] sortedLatencies) {
+            this.requests = requests;
+            this.failures = failures;
+            this.elapsedNanos = elapsedNanos;
+            this.sortedLatencies = sortedLatencies;
+        }
+
+        public int getRequests() {
+            return requests;
+        }
+
+        /**
+         * @return requests that failed or got a status other than 200
+         */
+        public int getFailures() {
+            return failures;
+        }
+
+        public double getThroughput() {
+            return requests * 1e9 / elapsedNanos;
+        }
+
+        /**
+         * @param percentile between 0 and 100
+         * @return latency in microseconds at that percentile of successful requests
+         */
+        public long latencyMicros(double percentile) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100 * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, Math.min(index, sortedLatencies.length - 1))] / 1000;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("requests=%d failures=%d throughput=%.0f req/s p50=%dus p99=%dus",
+                                 requests, failures, getThroughput(), latencyMicros(50), latencyMicros(99));
+        }
+    }
+
+    /**
+     * Sends {@code requests} POSTs of {@code body} from {@code concurrency} threads.
+     */
+    public static Report run(URL url, byte[] body, int concurrency, int requests) throws InterruptedException {
+        if (concurrency < 1 || requests < 1) {
+            throw new IllegalArgumentException("Concurrency and requests must be positive");
+        }
+        AtomicInteger remaining = new AtomicInteger(requests);
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        List<Future<?>> results = new ArrayList<>(concurrency);
+        // One slot per request, claimed through the shared counter; -1 marks a failure
+        long[] all = new long[requests];
+
+        long start = System.nanoTime();
+        for (int i = 0; i < concurrency; i++) {
+            results.add(clients.submit(() -> {
+                int slot;
+                while ((slot = remaining.decrementAndGet()) >= 0) {
+                    long sent = System.nanoTime();
+                    all[slot] = post(url, body) ? System.nanoTime() - sent : -1;
+                }
+            }));
+        }
+
+        try {
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Client thread failed", e.getCause());
+        } finally {
+            clients.shutdownNow();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        int succeeded = 0;
+        for (long latency : all) {
+            if (latency >= 0) {
+                all[succeeded++] = latency;
+            }
+        }
+        long[] latencies = Arrays.copyOf(all, succeeded);
+        Arrays.sort(latencies);
+        return new Report(requests, requests - succeeded, elapsed, latencies);
+    }
+
+    /**
+     * Sends one request and reads the whole response, so the connection can be reused.
+     */
+    private static boolean post(URL url, byte[] body) {
+        try {
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            connection.setRequestMethod("POST");
+            connection.setDoOutput(true);
+            connection.setFixedLengthStreamingMode(body.length);
+            connection.setRequestProperty("Content-Type", "text/plain; charset=utf-8");
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(body);
+            }
+            int status = connection.getResponseCode();
+            InputStream response = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+            if (response != null) {
+                try (InputStream in = response) {
+                    byte[] buffer = new byte[BUFFER_SIZE];
+                    while (in.read(buffer) != -1) {
+                        // drain
+                    }
+                }
+            }
+            return status == 200;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Comma-separated values, uniformly random in {@code [0, 2 * values)}, so the
+     * summary mixes short ranges and single numbers.
+     */
+    static byte[] body(int values) {
+        Random random = new Random(values);
+        StringBuilder text = new StringBuilder(values * 7);
+        for (int i = 0; i < values; i++) {
+            if (i > 0) {
+                text.append(',');
+            }
+            text.append(random.nextInt(values * 2));
+        }
+        return text.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static void main(String[] args) throws Exception {
+        URL url = URI.create(args.length > 0 ? args[0] : "http://localhost:" + SummarizerHttpServer.DEFAULT_PORT
+                                                         + SummarizerHttpServer.PATH).toURL();
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        int requests = args.length > 2 ? Integer.parseInt(args[2]) : 20000;
+        int values = args.length > 3 ? Integer.parseInt(args[3]) : 1000;
+        byte[] body = body(values);
+
+        // Warm up the server and the client connections before measuring
+        run(url, body, concurrency, Math.max(concurrency, requests / 10));
+        System.out.println(run(url, body, concurrency, requests));
+    }
+}
@@ -0,0 +1,333 @@
+package com.numberrange.server;
+
+import com.numberrange.NumberRangeSummarizerImpl;
+import com.numberrange.TaskExecutors;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Lightweight HTTP front end on the JDK's built-in {@link HttpServer}.
+ *
+ * {@code POST /summarize} with comma-separated integers as the body returns
+ * the summary as {@code text/plain}. The body is parsed straight from the
+ * request stream and the summary is written straight to the response stream
+ * (chunked), so neither is held as a String. Connections are kept alive
+ * between requests by the JDK server.
+ *
+ * Bodies are limited to {@link #DEFAULT_MAX_BODY_SIZE} bytes unless configured
+ * otherwise, which also bounds the number of values a request can hold. Error
+ * responses carry a short plain-text message:
+ * <ul>
+ *   <li>{@code 400} - the body could not be read or was rejected by the summarizer</li>
+ *   <li>{@code 405} - a method other than POST</li>
+ *   <li>{@code 413} - the body exceeds the limit, by {@code Content-Length} or while streaming</li>
+ *   <li>{@code 500} - summarizing failed unexpectedly</li>
+ *   <li>{@code 503} - the executor rejected the request</li>
+ * </ul>
+ *
+ * By default each request runs on its own virtual thread on Java 21+, so slow
+ * clients do not tie up a fixed pool. On older runtimes requests run on a
+ * bounded executor: two threads per core and a queue of 1024. Requests the
+ * executor rejects are answered with {@code 503} from a small pool of their
+ * own, since sending even an error means reading the request headers and
+ * draining up to 64 KiB of unread body, which a stalled client can hold
+ * indefinitely. If that pool is full too, the connection is dropped. The
+ * accepting thread never touches a request, so slow clients cannot stop it
+ * from accepting others. (Dropping relies on the JDK server closing
+ * connections whose exchange could not be executed, which it does from Java 11.)
+ *
+ * Start it with {@code java -cp number-range-summarizer.jar
+ * com.numberrange.server.SummarizerHttpServer [port]} and measure it with
+ * {@link LoadGenerator}.
+ *
+ * @author Keuran Kisten
+ */
+public final class SummarizerHttpServer implements AutoCloseable {
+
+    public static final String PATH = "/summarize";
+    public static final int DEFAULT_PORT = 8080;
+    public static final long DEFAULT_MAX_BODY_SIZE = 16L << 20;
+
+    private static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    private static final int BACKLOG = 256;
+    private static final String THREAD_NAME = "summarizer-http";
+    private static final String NODELAY_PROPERTY = "sun.net.httpserver.nodelay";
+    private static final int REJECT_THREADS = 4;
+    private static final int REJECT_QUEUE_CAPACITY = 64;
+
+    // Set on a rejection thread while it answers a request the executor rejected
+    private final ThreadLocal<Boolean> rejecting = new ThreadLocal<>();
+
+    private final HttpServer server;
+    private final NumberRangeSummarizerImpl summarizer;
+    private final ExecutorService executor;
+    private final ThreadPoolExecutor rejecter;
+    private final boolean ownsExecutor;
+    private final long maxBodySize;
+
+    /**
+     * Creates a server with the default summarizer, body limit and executor
+     * (see {@link TaskExecutors#newTaskExecutor(String, int, int)}).
+     *
+     * @param address address to bind; port 0 picks a free port
+     * @throws IOException if the address cannot be bound
+     */
+    public SummarizerHttpServer(InetSocketAddress address) throws IOException {
+        this(address, new NumberRangeSummarizerImpl(),
+             TaskExecutors.newTaskExecutor(THREAD_NAME, 2 * Runtime.getRuntime().availableProcessors(),
+                                           DEFAULT_QUEUE_CAPACITY), true, DEFAULT_MAX_BODY_SIZE);
+    }
+
+    /**
+     * @param address address to bind; port 0 picks a free port
+     * @param summarizer summarizer used for every request
+     * @param executor executor requests run on; not shut down by {@link #close()}
+     * @throws IOException if the address cannot be bound
+     */
+    public SummarizerHttpServer(InetSocketAddress address, NumberRangeSummarizerImpl summarizer,
+                                ExecutorService executor) throws IOException {
+        this(address, summarizer, executor, false, DEFAULT_MAX_BODY_SIZE);
+    }
+
+    /**
+     * @param address address to bind; port 0 picks a free port
+     * @param summarizer summarizer used for every request
+     * @param executor executor requests run on; not shut down by {@link #close()}
+     * @param maxBodySize largest accepted request body in bytes; larger ones get {@code 413}
+     * @throws IOException if the address cannot be bound
+     */
+    public SummarizerHttpServer(InetSocketAddress address, NumberRangeSummarizerImpl summarizer,
+                                ExecutorService executor, long maxBodySize) throws IOException {
+        this(address, summarizer, executor, false, maxBodySize);
+    }
+
+    private SummarizerHttpServer(InetSocketAddress address, NumberRangeSummarizerImpl summarizer,
+                                 ExecutorService executor, boolean ownsExecutor, long maxBodySize)
+            throws IOException {
+        if (address == null) {
+            throw new IllegalArgumentException("Address must not be null");
+        }
+        if (summarizer == null) {
+            throw new IllegalArgumentException("Summarizer must not be null");
+        }
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor must not be null");
+        }
+        if (maxBodySize < 1) {
+            throw new IllegalArgumentException("Maximum body size must be positive: " + maxBodySize);
+        }
+        this.summarizer = summarizer;
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+        this.maxBodySize = maxBodySize;
+        this.rejecter = TaskExecutors.boundedExecutor(THREAD_NAME + "-reject", REJECT_THREADS,
+                                                      REJECT_QUEUE_CAPACITY);
+        this.server = HttpServer.create(address, BACKLOG);
+        server.createContext(PATH, this::handle);
+        server.setExecutor(this::dispatch);
+    }
+
+    /**
+     * Bounded pool for request handling: fixed thread count and bounded queue; once
+     * the queue is full, further requests are answered with {@code 503}.
+     *
+     * @param threads number of worker threads
+     * @param queueCapacity number of requests that may wait for a worker
+     * @return a new executor; the caller shuts it down
+     */
+    public static ThreadPoolExecutor boundedExecutor(int threads, int queueCapacity) {
+        return TaskExecutors.boundedExecutor(THREAD_NAME, threads, queueCapacity);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * @return the bound address, with the actual port if port 0 was requested
+     */
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    /**
+     * Stops accepting requests and waits up to a second for running ones to finish.
+     * The default executor is shut down; a caller-supplied one is left running.
+     */
+    @Override
+    public void close() {
+        server.stop(1);
+        rejecter.shutdown();
+        if (ownsExecutor) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Hands an exchange to the executor, or a rejected one to the rejection pool to
+     * send {@code 503}. Runs on the accepting thread, so it never runs an exchange:
+     * if the rejection pool is full as well, its {@link RejectedExecutionException}
+     * propagates and the JDK server closes the connection.
+     */
+    private void dispatch(Runnable exchange) {
+        try {
+            executor.execute(exchange);
+        } catch (RejectedExecutionException e) {
+            rejecter.execute(() -> {
+                rejecting.set(Boolean.TRUE);
+                try {
+                    exchange.run();
+                } finally {
+                    rejecting.remove();
+                }
+            });
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (rejecting.get() != null) {
+                sendError(exchange, 503, "Server busy, retry later");
+                return;
+            }
+            if (!"POST".equalsIgnoreCase(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            if (declaredLength(exchange) > maxBodySize) {
+                sendError(exchange, 413, tooLarge());
+                return;
+            }
+
+            Collection<Integer> numbers;
+            try (InputStream body = new BoundedInputStream(exchange.getRequestBody(), maxBodySize)) {
+                numbers = summarizer.collectFrom(body, StandardCharsets.UTF_8);
+            } catch (BodyTooLargeException e) {
+                sendError(exchange, 413, tooLarge());
+                return;
+            } catch (IOException e) {
+                sendError(exchange, 400, "Could not read request body");
+                return;
+            } catch (IllegalArgumentException e) {
+                sendError(exchange, 400, e.getMessage());
+                return;
+            } catch (RuntimeException e) {
+                sendError(exchange, 500, "Could not summarize request");
+                return;
+            }
+
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+            // Length 0 selects chunked encoding, so the summary streams out as it is rendered
+            exchange.sendResponseHeaders(200, 0);
+            try (Writer out = new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8)) {
+                summarizer.summarizeTo(numbers, out);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private String tooLarge() {
+        return "Request body exceeds " + maxBodySize + " bytes";
+    }
+
+    /**
+     * @return the Content-Length header, or -1 if absent or not a number
+     */
+    private static long declaredLength(HttpExchange exchange) {
+        String length = exchange.getRequestHeaders().getFirst("Content-Length");
+        if (length == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(length.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        byte[] body = (message + "\n").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * Fails with {@link BodyTooLargeException} once more than {@code limit} bytes were
+     * read, which covers chunked bodies that declare no length.
+     */
+    private static final class BoundedInputStream extends FilterInputStream {
+        private final long limit;
+        private long count;
+
+        BoundedInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = super.read();
+            if (value != -1) {
+                count(1);
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count(read);
+            }
+            return read;
+        }
+
+        private void count(int read) throws BodyTooLargeException {
+            count += read;
+            if (count > limit) {
+                throw new BodyTooLargeException();
+            }
+        }
+    }
+
+    private static final class BodyTooLargeException extends IOException {
+        private static final long serialVersionUID = 1L;
+    }
+
+    /**
+     * Runs the server until the process is stopped.
+     *
+     * @param args optional port, 8080 by default
+     */
+    public static void main(String[] args) throws IOException {
+        // The JDK server flushes headers and body separately; without TCP_NODELAY the
+        // body waits for the client's delayed ACK (~40 ms per request). The property is
+        // JVM-wide, so only the standalone server sets it, and an explicit value wins.
+        if (System.getProperty(NODELAY_PROPERTY) == null) {
+            System.setProperty(NODELAY_PROPERTY, "true");
+        }
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        SummarizerHttpServer server = new SummarizerHttpServer(new InetSocketAddress(port));
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+        server.start();
+        System.out.println("Listening on http://localhost:" + server.getAddress().getPort() + PATH);
+    }
+}
@@ -0,0 +1,28 @@
+package com.numberrange;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Java 21 version of {@code VirtualThreads}, packaged in
+ * {@code META-INF/versions/21} of the multi-release JAR.
+ *
+ * @author Keuran Kisten
+ */
+final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    static boolean available() {
+        return true;
+    }
+
+    /**
+     * @param name prefix for thread names
+     * @return an executor that starts a virtual thread per task
+     */
+    static ExecutorService newThreadPerTaskExecutor(String name) {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + "-", 1).factory());
+    }
+}
@@ -0,0 +1,129 @@
+package com.numberrange;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the batch API: every result must equal summarize() of its input,
+ * in input order, whatever executor runs the chunks.
+ *
+ * @author Keuran Kisten
+ */
+class BatchSummarizerTest {
+
+    private final NumberRangeSummarizerImpl summarizer = new NumberRangeSummarizerImpl();
+
+    private static List<String> inputs(int count) {
+        Random random = new Random(count);
+        List<String> inputs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            StringBuilder line = new StringBuilder();
+            int values = random.nextInt(40);
+            for (int v = 0; v < values; v++) {
+                line.append(random.nextInt(60) - 10).append(v % 9 == 8 ? ",x," : ",");
+            }
+            inputs.add(line.toString());
+        }
+        return inputs;
+    }
+
+    @Test
+    @DisplayName("summarizeAll() should return summaries in input order")
+    void testSummarizeAllInOrder() {
+        List<String> inputs = inputs(20000);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<String> results = new BatchSummarizer(summarizer, executor).summarizeAll(inputs);
+
+            assertEquals(inputs.size(), results.size());
+            for (int i = 0; i < inputs.size(); i++) {
+                assertEquals(summarizer.summarize(inputs.get(i)), results.get(i), "input " + i);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("summarizeAll() should handle small batches, nulls and non-random-access lists")
+    void testSummarizeAllEdgeCases() {
+        BatchSummarizer batch = new BatchSummarizer();
+
+        assertEquals(Collections.emptyList(), batch.summarizeAll((List<String>) null));
+        assertEquals(Arrays.asList("1-3", "", "", "5"), batch.summarizeAll(Arrays.asList("3,2,1", null, "abc", "5")));
+        List<String> linked = new LinkedList<>(inputs(5000));
+        assertEquals(new ArrayList<>(batch.summarizeAll(new ArrayList<>(linked))), batch.summarizeAll(linked));
+    }
+
+    @Test
+    @DisplayName("Streaming summarizeAll() should deliver results in order with bounded chunks")
+    void testStreamingSummarizeAll() {
+        int maxInFlight = 2 * Runtime.getRuntime().availableProcessors();
+        List<String> inputs = inputs((maxInFlight + 3) * BatchSummarizer.MAX_CHUNK_SIZE + 17);
+        List<String> results = new ArrayList<>();
+        // Chunks are submitted and results delivered on the calling thread
+        int[] submitted = new int[1];
+        int[] mostInFlight = new int[1];
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Executor counting = task -> {
+                submitted[0]++;
+                int delivered = results.size() / BatchSummarizer.MAX_CHUNK_SIZE;
+                mostInFlight[0] = Math.max(mostInFlight[0], submitted[0] - delivered);
+                executor.execute(task);
+            };
+
+            new BatchSummarizer(summarizer, counting).summarizeAll(inputs, results::add);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(new BatchSummarizer().summarizeAll(inputs), results);
+        assertEquals(maxInFlight + 4, submitted[0]);
+        assertEquals(maxInFlight, mostInFlight[0]);
+        assertThrows(IllegalArgumentException.class, () -> new BatchSummarizer().summarizeAll(inputs, null));
+    }
+
+    @Test
+    @DisplayName("The scratch pool should stay bounded however many tasks ran at once")
+    void testScratchPoolBounded() {
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            BatchSummarizer batch = new BatchSummarizer(summarizer, executor);
+            List<String> inputs = inputs(20000);
+            for (int i = 0; i < 5; i++) {
+                assertEquals(20000, batch.summarizeAll(inputs).size());
+            }
+            int pooled = batch.pooledScratchCount();
+            assertTrue(pooled > 0);
+            assertTrue(pooled <= 2 * Runtime.getRuntime().availableProcessors());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("An oversized input should fail the batch with the usual exception")
+    void testOversizedInputFails() {
+        List<String> inputs = inputs(5000);
+        char[] large = new char[100_001];
+        Arrays.fill(large, '1');
+        inputs.set(4321, new String(large));
+
+        assertThrows(IllegalArgumentException.class, () -> new BatchSummarizer().summarizeAll(inputs));
+        assertThrows(IllegalArgumentException.class, () -> new BatchSummarizer().summarizeAll(inputs, s -> { }));
+        assertThrows(IllegalArgumentException.class, () -> new BatchSummarizer(summarizer, null));
+    }
+}
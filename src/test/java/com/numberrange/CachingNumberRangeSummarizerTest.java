@@ -0,0 +1,159 @@
+package com.numberrange;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the caching decorator: cached results must equal the delegate's,
+ * hits must not call the delegate, and the weight bound must hold.
+ *
+ * @author Keuran Kisten
+ */
+class CachingNumberRangeSummarizerTest {
+
+    private final NumberRangeSummarizerImpl summarizer = new NumberRangeSummarizerImpl();
+
+    /**
+     * Delegate that counts the calls that reach it.
+     */
+    private static final class CountingSummarizer implements NumberRangeSummarizer {
+        private final NumberRangeSummarizerImpl impl = new NumberRangeSummarizerImpl();
+        final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public Collection<Integer> collect(String input) {
+            calls.incrementAndGet();
+            return impl.collect(input);
+        }
+
+        @Override
+        public String summarizeCollection(Collection<Integer> input) {
+            return impl.summarizeCollection(input);
+        }
+
+        @Override
+        public String summarize(CharSequence input) {
+            calls.incrementAndGet();
+            return impl.summarize(input);
+        }
+    }
+
+    @Test
+    @DisplayName("Repeated inputs should be answered from the cache")
+    void testHitsSkipDelegate() {
+        CountingSummarizer delegate = new CountingSummarizer();
+        CachingNumberRangeSummarizer cache = new CachingNumberRangeSummarizer(delegate, 10_000);
+        String input = "1,3,6,7,8,12,13,14,15,21,22,23,24,31";
+
+        Collection<Integer> first = cache.collect(input);
+        assertSame(first, cache.collect(new String(input.toCharArray())));
+        assertEquals("1, 3, 6-8, 12-15, 21-24, 31", cache.summarizeCollection(first));
+        assertEquals("1, 3, 6-8, 12-15, 21-24, 31", cache.summarize(new StringBuilder(input)));
+        assertEquals("1, 3, 6-8, 12-15, 21-24, 31", cache.summarize(input));
+
+        assertEquals(2, delegate.calls.get());
+        assertEquals(2, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    @DisplayName("Null input should pass through without being cached")
+    void testNullInput() {
+        CachingNumberRangeSummarizer cache = new CachingNumberRangeSummarizer(summarizer, 100);
+
+        assertTrue(cache.collect(null).isEmpty());
+        assertEquals("", cache.summarize(null));
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getMissCount());
+    }
+
+    @Test
+    @DisplayName("Total weight should stay within the bound")
+    void testWeightBound() {
+        CachingNumberRangeSummarizer cache = new CachingNumberRangeSummarizer(summarizer, 200);
+
+        for (int i = 0; i < 100; i++) {
+            String input = i + "," + (i + 1) + "," + (i + 5);
+            assertEquals(summarizer.summarize(input), cache.summarize(input));
+            assertTrue(cache.getWeight() <= 200);
+        }
+        assertTrue(cache.getEvictionCount() > 0);
+        assertTrue(cache.size() < 100);
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getWeight());
+    }
+
+    @Test
+    @DisplayName("Recently used entries should survive eviction")
+    void testSecondChance() {
+        CachingNumberRangeSummarizer cache = new CachingNumberRangeSummarizer(summarizer, 60);
+        String hot = "1,2,3";
+
+        cache.summarize(hot);
+        for (int i = 10; i < 40; i++) {
+            cache.summarize(hot);
+            cache.summarize(String.valueOf(i * 10));
+        }
+        long misses = cache.getMissCount();
+        cache.summarize(hot);
+
+        assertEquals(misses, cache.getMissCount());
+    }
+
+    @Test
+    @DisplayName("Entries heavier than the bound should not be cached")
+    void testOversizedEntry() {
+        CachingNumberRangeSummarizer cache = new CachingNumberRangeSummarizer(summarizer, 10);
+
+        assertEquals("1-3, 10, 20", cache.summarize("1,2,3,10,20"));
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getWeight());
+    }
+
+    @Test
+    @DisplayName("Concurrent callers should get the delegate's results")
+    void testConcurrentAccess() throws Exception {
+        CachingNumberRangeSummarizer cache = new CachingNumberRangeSummarizer(summarizer, 2_000);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int seed = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 2_000; i++) {
+                        String input = ((i * 7 + seed) % 50) + ",4,5,6";
+                        assertEquals(summarizer.summarize(input), cache.summarize(input));
+                        assertEquals(summarizer.collect(input), cache.collect(input));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(16_000, cache.getHitCount() + cache.getMissCount());
+        assertTrue(cache.getWeight() <= 2_000);
+    }
+
+    @Test
+    @DisplayName("Invalid settings should be rejected")
+    void testValidation() {
+        assertThrows(IllegalArgumentException.class, () -> new CachingNumberRangeSummarizer(null, 10));
+        assertThrows(IllegalArgumentException.class, () -> new CachingNumberRangeSummarizer(summarizer, 0));
+    }
+}
@@ -0,0 +1,162 @@
+package com.numberrange;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for single-flight coalescing: concurrent equal calls must share one
+ * delegate call and its outcome, and nothing may be retained afterwards.
+ *
+ * @author Keuran Kisten
+ */
+class CoalescingNumberRangeSummarizerTest {
+
+    private static final int CALLERS = 4;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+    /**
+     * Delegate that counts calls and blocks each one until released.
+     */
+    private static final class BlockingSummarizer implements NumberRangeSummarizer {
+        private final NumberRangeSummarizerImpl impl = new NumberRangeSummarizerImpl();
+        final AtomicInteger calls = new AtomicInteger();
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public Collection<Integer> collect(String input) {
+            block();
+            return impl.collect(input);
+        }
+
+        @Override
+        public String summarizeCollection(Collection<Integer> input) {
+            return impl.summarizeCollection(input);
+        }
+
+        @Override
+        public String summarize(CharSequence input) {
+            block();
+            if ("fail".equals(String.valueOf(input))) {
+                throw new IllegalArgumentException("Invalid input");
+            }
+            return impl.summarize(input);
+        }
+
+        private void block() {
+            calls.incrementAndGet();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static void awaitCoalesced(CoalescingNumberRangeSummarizer coalescing, long count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (coalescing.getCoalescedCount() < count && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(count, coalescing.getCoalescedCount());
+    }
+
+    @Test
+    @DisplayName("Concurrent equal calls should share one computation")
+    void testSharedComputation() throws Exception {
+        BlockingSummarizer delegate = new BlockingSummarizer();
+        CoalescingNumberRangeSummarizer coalescing = new CoalescingNumberRangeSummarizer(delegate);
+
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> coalescing.summarize(new StringBuilder("3,1,2,7"))));
+        }
+        awaitCoalesced(coalescing, CALLERS - 1);
+        delegate.release.countDown();
+
+        for (Future<String> result : results) {
+            assertEquals("1-3, 7", result.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1, delegate.calls.get());
+        assertEquals(0, coalescing.inFlight());
+    }
+
+    @Test
+    @DisplayName("Concurrent collect calls should get the same collection")
+    void testSharedCollect() throws Exception {
+        BlockingSummarizer delegate = new BlockingSummarizer();
+        CoalescingNumberRangeSummarizer coalescing = new CoalescingNumberRangeSummarizer(delegate);
+
+        Future<Collection<Integer>> first = executor.submit(() -> coalescing.collect("5,4,4"));
+        Future<Collection<Integer>> second = executor.submit(() -> coalescing.collect("5,4,4"));
+        awaitCoalesced(coalescing, 1);
+        delegate.release.countDown();
+
+        assertSame(first.get(10, TimeUnit.SECONDS), second.get(10, TimeUnit.SECONDS));
+        assertEquals("4-5", coalescing.summarizeCollection(first.get()));
+        assertEquals(1, delegate.calls.get());
+    }
+
+    @Test
+    @DisplayName("A failure should reach every waiting caller")
+    void testSharedFailure() throws Exception {
+        BlockingSummarizer delegate = new BlockingSummarizer();
+        CoalescingNumberRangeSummarizer coalescing = new CoalescingNumberRangeSummarizer(delegate);
+
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> coalescing.summarize("fail")));
+        }
+        awaitCoalesced(coalescing, CALLERS - 1);
+        delegate.release.countDown();
+
+        for (Future<String> result : results) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(10, TimeUnit.SECONDS));
+            assertTrue(e.getCause() instanceof IllegalArgumentException);
+        }
+        assertEquals(1, delegate.calls.get());
+        assertEquals(0, coalescing.inFlight());
+    }
+
+    @Test
+    @DisplayName("Completed results should not be retained")
+    void testNothingRetained() {
+        BlockingSummarizer delegate = new BlockingSummarizer();
+        delegate.release.countDown();
+        CoalescingNumberRangeSummarizer coalescing = new CoalescingNumberRangeSummarizer(delegate);
+
+        assertEquals("1-3", coalescing.summarize("1,2,3"));
+        assertEquals("1-3", coalescing.summarize("1,2,3"));
+        assertEquals(2, delegate.calls.get());
+        assertEquals("", coalescing.summarize(null));
+        assertTrue(coalescing.collect(null).isEmpty());
+
+        assertEquals(0, coalescing.getCoalescedCount());
+        assertEquals(0, coalescing.inFlight());
+    }
+
+    @Test
+    @DisplayName("Null delegate should be rejected")
+    void testValidation() {
+        assertThrows(IllegalArgumentException.class, () -> new CoalescingNumberRangeSummarizer(null));
+    }
+}
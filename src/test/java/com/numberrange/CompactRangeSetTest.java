@@ -0,0 +1,140 @@
+package com.numberrange;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the range-compressed result set. Every operation must behave
+ * like the same operation on a {@link TreeSet} holding the expanded values.
+ *
+ * @author Keuran Kisten
+ */
+class CompactRangeSetTest {
+
+    private static final int[] VALUES = {-10, -9, -8, 0, 5, 6, 7, 8, 20, 40, 41};
+
+    private static CompactRangeSet compact(int... sorted) {
+        return CompactRangeSet.fromSorted(sorted, sorted.length);
+    }
+
+    private static TreeSet<Integer> expanded(int... sorted) {
+        TreeSet<Integer> set = new TreeSet<>();
+        for (int value : sorted) {
+            set.add(value);
+        }
+        return set;
+    }
+
+    @Test
+    @DisplayName("Should store consecutive values as ranges and behave like the expanded set")
+    void testBasics() {
+        CompactRangeSet set = compact(VALUES);
+        TreeSet<Integer> reference = expanded(VALUES);
+
+        assertEquals(5, set.rangeCount());
+        assertEquals(reference.size(), set.size());
+        assertEquals(new ArrayList<>(reference), new ArrayList<>(set));
+        assertEquals(reference, set);
+        assertEquals(reference.hashCode(), set.hashCode());
+        for (int value = -12; value <= 43; value++) {
+            assertEquals(reference.contains(value), set.contains(value), "contains " + value);
+        }
+        assertFalse(set.contains("5"));
+    }
+
+    @Test
+    @DisplayName("Navigation methods should match TreeSet")
+    void testNavigation() {
+        CompactRangeSet set = compact(VALUES);
+        TreeSet<Integer> reference = expanded(VALUES);
+
+        assertEquals(reference.first(), set.first());
+        assertEquals(reference.last(), set.last());
+        for (int value = -12; value <= 43; value++) {
+            assertEquals(reference.floor(value), set.floor(value), "floor " + value);
+            assertEquals(reference.lower(value), set.lower(value), "lower " + value);
+            assertEquals(reference.ceiling(value), set.ceiling(value), "ceiling " + value);
+            assertEquals(reference.higher(value), set.higher(value), "higher " + value);
+        }
+    }
+
+    @Test
+    @DisplayName("Sub-sets and the descending view should match TreeSet")
+    void testViews() {
+        CompactRangeSet set = compact(VALUES);
+        TreeSet<Integer> reference = expanded(VALUES);
+
+        for (int from = -11; from <= 42; from += 3) {
+            for (int to = from; to <= 42; to += 4) {
+                assertEquals(reference.subSet(from, true, to, false), set.subSet(from, true, to, false));
+                assertEquals(reference.subSet(from, false, to, true), set.subSet(from, false, to, true));
+            }
+            assertEquals(reference.headSet(from), set.headSet(from));
+            assertEquals(reference.tailSet(from, false), set.tailSet(from, false));
+        }
+
+        NavigableSet<Integer> descending = set.descendingSet();
+        assertEquals(new ArrayList<>(reference.descendingSet()), new ArrayList<>(descending));
+        assertEquals(new ArrayList<>(reference.descendingSet().headSet(5, true)),
+                     new ArrayList<>(descending.headSet(5, true)));
+        assertEquals(reference.descendingSet().higher(0), descending.higher(0));
+        assertThrows(IllegalArgumentException.class, () -> set.subSet(5, 1));
+    }
+
+    @Test
+    @DisplayName("Should be read-only")
+    void testReadOnly() {
+        CompactRangeSet set = compact(VALUES);
+
+        assertThrows(UnsupportedOperationException.class, () -> set.add(100));
+        assertThrows(UnsupportedOperationException.class, set::pollFirst);
+        assertThrows(UnsupportedOperationException.class, set::clear);
+        assertThrows(UnsupportedOperationException.class, () -> set.iterator().remove());
+    }
+
+    @Test
+    @DisplayName("Should handle the int limits without overflow")
+    void testIntLimits() {
+        int[] bounds = {Integer.MIN_VALUE, Integer.MIN_VALUE + 1, Integer.MAX_VALUE - 1, Integer.MAX_VALUE};
+        CompactRangeSet set = new CompactRangeSet(bounds, 2);
+        CompactRangeSet full = new CompactRangeSet(new int[] {Integer.MIN_VALUE, Integer.MAX_VALUE}, 1);
+
+        assertEquals(Arrays.asList(Integer.MIN_VALUE, Integer.MIN_VALUE + 1, Integer.MAX_VALUE - 1, Integer.MAX_VALUE),
+                     new ArrayList<>(set));
+        assertNull(set.lower(Integer.MIN_VALUE));
+        assertNull(set.higher(Integer.MAX_VALUE));
+        assertTrue(set.headSet(Integer.MIN_VALUE).isEmpty());
+        assertEquals(1L << 32, full.count());
+        assertEquals(Integer.MAX_VALUE, full.size());
+        assertTrue(full.contains(0));
+    }
+
+    @Test
+    @DisplayName("collect() with compact results should return ranges that summarize in O(ranges)")
+    void testCompactCollect() throws Exception {
+        NumberRangeSummarizerImpl compact = NumberRangeSummarizerImpl.builder().compactResults(true).build();
+        NumberRangeSummarizerImpl plain = new NumberRangeSummarizerImpl();
+        String input = "8,1,-3,7,-4,abc,-5,1,6,100";
+
+        Collection<Integer> numbers = compact.collect(input);
+        StringBuilder out = new StringBuilder();
+        compact.summarizeTo(numbers, out);
+
+        assertTrue(numbers instanceof NavigableSet);
+        assertEquals(4, ((CompactRangeSet) numbers).rangeCount());
+        assertEquals(new ArrayList<>(plain.collect(input)), new ArrayList<>(numbers));
+        assertEquals("-5--3, 1, 6-8, 100", compact.summarizeCollection(numbers));
+        assertEquals("-5--3, 1, 6-8, 100", plain.summarizeCollection(numbers));
+        assertEquals("-5--3, 1, 6-8, 100", out.toString());
+        assertTrue(compact.collect((String) null).isEmpty());
+        assertTrue(compact.collect((String) null) instanceof NavigableSet);
+    }
+}
@@ -0,0 +1,93 @@
+package com.numberrange;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the striped accumulator. Its snapshot must match summarizeCollection
+ * over every value added, whichever threads added them.
+ *
+ * @author Keuran Kisten
+ */
+class ConcurrentRangeAccumulatorTest {
+
+    @Test
+    @DisplayName("Should summarize values added from many threads like summarizeCollection")
+    void testConcurrentAdds() throws Exception {
+        NumberRangeSummarizerImpl summarizer = new NumberRangeSummarizerImpl();
+        ConcurrentRangeAccumulator accumulator = new ConcurrentRangeAccumulator(summarizer);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Integer> expected = new ArrayList<>();
+        List<Future<?>> futures = new ArrayList<>();
+
+        try {
+            for (int t = 0; t < threads; t++) {
+                int[] values = new Random(t).ints(20000, -5000, 50000).toArray();
+                for (int value : values) {
+                    expected.add(value);
+                }
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int value : values) {
+                        accumulator.add(value);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(summarizer.summarizeCollection(expected), accumulator.snapshotSummary());
+    }
+
+    @Test
+    @DisplayName("Snapshots should reflect adds so far and work with a single stripe")
+    void testSnapshots() {
+        ConcurrentRangeAccumulator accumulator = new ConcurrentRangeAccumulator(new NumberRangeSummarizerImpl(), 1);
+
+        assertEquals("", accumulator.snapshotSummary());
+        accumulator.add(3);
+        accumulator.add(1);
+        accumulator.add(2);
+        assertEquals("1-3", accumulator.snapshotSummary());
+        for (int i = 0; i < 5000; i++) {
+            accumulator.add(i % 7 == 0 ? -i : 10);
+        }
+        assertTrue(accumulator.snapshotSummary().startsWith("-4998, "));
+        assertTrue(accumulator.snapshotSummary().endsWith(", 0-3, 10"));
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentRangeAccumulator(null));
+    }
+
+    @Test
+    @DisplayName("Snapshots should be reported to the summarizer's metrics")
+    void testSnapshotMetrics() {
+        RecordingSummarizerMetrics metrics = new RecordingSummarizerMetrics();
+        ConcurrentRangeAccumulator accumulator =
+            new ConcurrentRangeAccumulator(NumberRangeSummarizerImpl.builder().metrics(metrics).build());
+        accumulator.add(5);
+        accumulator.add(1);
+        accumulator.add(2);
+
+        assertEquals("1-2, 5", accumulator.snapshotSummary());
+        assertEquals(1, metrics.getSortLatency().getCount());
+        assertEquals(1, metrics.getRenderLatency().getCount());
+        assertEquals(2, metrics.getRangeCount());
+    }
+}
@@ -0,0 +1,82 @@
+package com.numberrange;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for memory-mapped file summarization.
+ * 
+ * @author Keuran Kisten
+ */
+class MappedFileSummarizerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path write(String content) throws IOException {
+        Path file = tempDir.resolve("numbers.txt");
+        Files.write(file, content.getBytes(StandardCharsets.US_ASCII));
+        return file;
+    }
+
+    @Test
+    @DisplayName("summarize() should match the String pipeline")
+    void testSummarizeMatchesStringPipeline() throws IOException {
+        String content = "1,3,6,7,8,12,13,14,15,21,22,23,24,31";
+        
+        assertEquals("1, 3, 6-8, 12-15, 21-24, 31", new MappedFileSummarizer().summarize(write(content)));
+    }
+
+    @Test
+    @DisplayName("Tokens split across mapping windows should be parsed correctly")
+    void testTokensSpanningWindows() throws IOException {
+        Random random = new Random(7);
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            content.append(random.nextInt(20001) - 10000).append(i % 3 == 0 ? " , " : ",");
+            if (i % 100 == 0) {
+                content.append("junk,");
+            }
+        }
+        NumberRangeSummarizerImpl impl = new NumberRangeSummarizerImpl();
+        CollectResult expected = impl.collectWithStats(content.toString());
+        
+        // A tiny odd-sized window forces many remaps with tokens cut in half
+        CollectResult actual = new MappedFileSummarizer(impl, 7).collectWithStats(write(content.toString()));
+        
+        assertEquals(expected.getNumbers(), actual.getNumbers());
+        assertEquals(expected.getTokenCount(), actual.getTokenCount());
+        assertEquals(expected.getRejectedCount(), actual.getRejectedCount());
+    }
+
+    @Test
+    @DisplayName("Files beyond the String size limit should be accepted")
+    void testLargeFile() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 60000; i++) {
+            content.append(i).append(',');
+        }
+        
+        assertEquals("0-59999", new MappedFileSummarizer().summarize(write(content.toString())));
+    }
+
+    @Test
+    @DisplayName("Empty files and null paths should be handled")
+    void testEmptyFileAndNullPath() throws IOException {
+        MappedFileSummarizer fileSummarizer = new MappedFileSummarizer();
+        
+        assertEquals("", fileSummarizer.summarize(write("")));
+        assertEquals(Arrays.asList(), fileSummarizer.collect(write(" , ,")));
+        assertThrows(IllegalArgumentException.class, () -> fileSummarizer.collect(null));
+    }
+}
@@ -6,7 +6,14 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -140,6 +147,203 @@ class NumberRangeSummarizerTest {
         assertEquals(Arrays.asList(1, 3, 4), result); // Large numbers should be ignored
     }
 
+    @ParameterizedTest
+    @ValueSource(strings = {"1 2", "- 5", "+", "-", "+-1", "1-2", "1.0", "0x10", "1e3", " 7\t", "\u0661\u0662"})
+    @DisplayName("collect() should accept exactly the tokens Integer.parseInt accepts after trimming")
+    void testCollectMatchesParseIntTokenRules(String token) {
+        List<Integer> expected = new ArrayList<>();
+        try {
+            expected.add(Integer.parseInt(token.trim()));
+        } catch (NumberFormatException e) {
+            // rejected token, nothing collected
+        }
+        
+        assertEquals(expected, new ArrayList<>(summarizer.collect("," + token + ",")));
+    }
+
+    @Test
+    @DisplayName("collectWithStats() should count rejected tokens without affecting results")
+    void testCollectWithStatsCountsRejectedTokens() {
+        NumberRangeSummarizerImpl impl = new NumberRangeSummarizerImpl();
+        CollectResult result = impl.collectWithStats("1,abc,3,,xyz, ,+05,2147483648,-,7");
+        
+        assertEquals(Arrays.asList(1, 3, 5, 7), result.getNumbers());
+        assertEquals(8, result.getTokenCount());
+        assertEquals(4, result.getRejectedCount());
+    }
+
+    @Test
+    @DisplayName("collectWithStats() should report zero counts for null input")
+    void testCollectWithStatsNullInput() {
+        CollectResult result = new NumberRangeSummarizerImpl().collectWithStats((String) null);
+        
+        assertTrue(result.getNumbers().isEmpty());
+        assertEquals(0, result.getTokenCount());
+        assertEquals(0, result.getRejectedCount());
+    }
+
+    @Test
+    @DisplayName("collectWithStats() should report the sort algorithm chosen for the input")
+    void testCollectWithStatsSortStrategy() {
+        NumberRangeSummarizerImpl impl = new NumberRangeSummarizerImpl();
+        StringBuilder dense = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            dense.append((i * 7919) % 2000).append(',');
+        }
+        
+        assertEquals(SortStrategy.COMPARISON, impl.collectWithStats("3,1,2").getSortStrategy());
+        assertEquals(SortStrategy.BITMAP, impl.collectWithStats(dense.toString()).getSortStrategy());
+    }
+
+    @Test
+    @DisplayName("collectFrom(Reader) should stream inputs beyond the String size limit")
+    void testCollectReaderLargeInput() throws IOException {
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 50001; i++) {
+            input.append(i % 500).append(", ");
+        }
+        input.append("abc,100000");
+        
+        NumberRangeSummarizerImpl impl = new NumberRangeSummarizerImpl();
+        CollectResult result = impl.collectWithStatsFrom(new StringReader(input.toString()));
+        
+        assertEquals(501, result.getNumbers().size());
+        assertEquals(50003, result.getTokenCount());
+        assertEquals(1, result.getRejectedCount());
+        assertEquals("0-499, 100000", summarizer.summarizeCollection(result.getNumbers()));
+    }
+
+    @Test
+    @DisplayName("collectWithStatsFrom() should count tokens past Integer.MAX_VALUE without wrapping")
+    void testCollectReaderTokenCountBeyondInt() throws IOException {
+        long tokens = Integer.MAX_VALUE + 6L;
+        // Serves "1,1,1,...,1,x" without holding it in memory: 4.3 GB of characters
+        char[] pattern = new char[1 << 16];
+        for (int i = 0; i < pattern.length; i++) {
+            pattern[i] = i % 2 == 0 ? '1' : ',';
+        }
+        Reader reader = new Reader() {
+            private final long last = 2 * tokens - 2;
+            private long position;
+
+            @Override
+            public int read(char[] buffer, int offset, int length) {
+                if (position > last) {
+                    return -1;
+                }
+                if (position == last) {
+                    buffer[offset] = 'x';
+                    position++;
+                    return 1;
+                }
+                int count = (int) Math.min(Math.min(length, pattern.length - 1), last - position);
+                System.arraycopy(pattern, (int) (position % 2), buffer, offset, count);
+                position += count;
+                return count;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        
+        CollectResult result = new NumberRangeSummarizerImpl().collectWithStatsFrom(reader);
+        
+        assertEquals(Collections.singletonList(1), new ArrayList<>(result.getNumbers()));
+        assertEquals(tokens, result.getTokenCount());
+        assertEquals(1, result.getRejectedCount());
+    }
+
+    @Test
+    @DisplayName("collectFrom(Reader) should match collect(String) for unsorted values with duplicates")
+    void testCollectReaderMatchesStringPath() throws IOException {
+        Random random = new Random(42);
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            input.append(random.nextInt(3000) - 1500).append(',');
+        }
+        
+        NumberRangeSummarizerImpl impl = new NumberRangeSummarizerImpl();
+        assertEquals(impl.collect(input.toString()), impl.collectFrom(new StringReader(input.toString())));
+    }
+
+    @Test
+    @DisplayName("collectFrom(InputStream, Charset) should decode and parse bytes")
+    void testCollectInputStream() throws IOException {
+        byte[] bytes = "3, 1,2,x,+7".getBytes(StandardCharsets.UTF_8);
+        
+        NumberRangeSummarizerImpl impl = new NumberRangeSummarizerImpl();
+        Collection<Integer> result = impl.collectFrom(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8);
+        
+        assertEquals(Arrays.asList(1, 2, 3, 7), result);
+        assertTrue(impl.collectFrom((StringReader) null).isEmpty());
+        // Stream variants have their own name, so a plain null still resolves to collect(String)
+        assertTrue(impl.collect(null).isEmpty());
+        assertThrows(IllegalArgumentException.class,
+            () -> impl.collectFrom(new ByteArrayInputStream(bytes), null));
+    }
+
+    @Test
+    @DisplayName("collectParallel() should match the sequential result for large inputs")
+    void testCollectParallelLargeInput() throws IOException {
+        Random random = new Random(5);
+        StringBuilder input = new StringBuilder();
+        while (input.length() < ParallelParser.SEQUENTIAL_THRESHOLD * 2) {
+            input.append(random.nextInt(400000) - 200000).append(random.nextInt(10) == 0 ? ",junk, " : ",");
+        }
+        
+        NumberRangeSummarizerImpl impl = new NumberRangeSummarizerImpl();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Collection<Integer> expected = impl.collectFrom(new StringReader(input.toString()));
+            assertEquals(expected, impl.collectParallel(input, pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Parallel chunks should split only at comma boundaries")
+    void testParallelChunksSplitAtCommas() {
+        String input = " 12 ,-345, x ,6789,,+10,2147483647, -2147483648 ,99999999999,7";
+        
+        // Chunk sizes smaller than a token force splits next to every comma
+        for (int chunkSize = 1; chunkSize < 8; chunkSize++) {
+            ParallelParser.Result result =
+                ParallelParser.parse(input, ForkJoinPool.commonPool(), SortEngine.DEFAULT, chunkSize);
+            result.values.sortAndDeduplicate(SortEngine.DEFAULT);
+            
+            int[] actual = Arrays.copyOf(result.values.array(), result.values.size());
+            assertArrayEquals(new int[] {Integer.MIN_VALUE, -345, 7, 10, 12, 6789, Integer.MAX_VALUE}, actual);
+            assertEquals(9, result.tokenCount);
+            assertEquals(2, result.rejectedCount);
+        }
+    }
+
+    @Test
+    @DisplayName("collectParallel() should keep small inputs on the sequential path")
+    void testCollectParallelSmallInput() {
+        NumberRangeSummarizerImpl impl = new NumberRangeSummarizerImpl();
+        
+        assertEquals(Arrays.asList(1, 3, 6, 7, 8), impl.collectParallel("8,1,6,3,7"));
+        assertTrue(impl.collectParallel(null).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> impl.collectParallel("1", null));
+    }
+
+    @Test
+    @DisplayName("collect() should return an unmodifiable sorted list with fast lookups")
+    void testCollectReturnsSortedUnmodifiableList() {
+        Collection<Integer> result = summarizer.collect("5,1,3,3");
+        
+        assertTrue(result instanceof SortedIntList);
+        assertTrue(result.contains(3));
+        assertFalse(result.contains(4));
+        assertFalse(result.contains("3"));
+        assertEquals(Arrays.asList(1, 3, 5).hashCode(), result.hashCode());
+        assertEquals("[1, 3, 5]", result.toString());
+        assertThrows(UnsupportedOperationException.class, () -> result.add(7));
+    }
+
     // ===== SUMMARIZE COLLECTION METHOD TESTS =====
 
     @Test
@@ -258,6 +462,138 @@ class NumberRangeSummarizerTest {
         assertEquals("1, 3, 5, 7, 9, 11", result);
     }
 
+    // ===== RANGE SYNTAX TESTS =====
+
+    @Test
+    @DisplayName("collectRanges() should read summaries back without expanding them")
+    void testCollectRangesRoundTrip() {
+        NumberRangeSummarizerImpl impl = new NumberRangeSummarizerImpl();
+        String summary = "-2147483648--2147483000, -5--3, 1, 6-8, 1000-2000000000, 2147483647";
+        
+        NavigableSet<Integer> ranges = impl.collectRanges(summary);
+        
+        assertEquals(summary, impl.summarizeCollection(ranges));
+        assertEquals(6, ((CompactRangeSet) ranges).rangeCount());
+        assertTrue(ranges.contains(-4));
+        assertFalse(ranges.contains(999));
+    }
+
+    @Test
+    @DisplayName("collectRanges() should merge overlapping and adjacent ranges in any order")
+    void testCollectRangesMerges() {
+        NumberRangeSummarizerImpl impl = new NumberRangeSummarizerImpl();
+        
+        assertEquals("1-20, 30-40", impl.summarizeCollection(impl.collectRanges("30-40, 5-10, 1-6, 11, 12 - 20, 35")));
+        assertEquals("-10-10", impl.summarizeCollection(impl.collectRanges("0-10, -10--1")));
+        assertEquals(Arrays.asList(1, 2, 3), new ArrayList<>(impl.collectRanges("3,1,2,2")));
+    }
+
+    @Test
+    @DisplayName("collectRanges() should reject reversed and malformed ranges")
+    void testCollectRangesRejectsInvalid() {
+        NumberRangeSummarizerImpl impl = new NumberRangeSummarizerImpl();
+        
+        assertEquals("1, 9", impl.summarizeCollection(impl.collectRanges("8-3, 5-, -, 1-2-3, 4--, a-b, 1, 9")));
+        assertTrue(impl.collectRanges(null).isEmpty());
+        assertTrue(impl.collectRanges(" , ").isEmpty());
+        // Plain collect() still treats a range as an invalid token
+        assertTrue(impl.collect("6-8").isEmpty());
+    }
+
+    // ===== PRIMITIVE ARRAY API TESTS =====
+
+    @Test
+    @DisplayName("collectToArray() should return sorted unique primitives")
+    void testCollectToArray() {
+        NumberRangeSummarizerImpl impl = new NumberRangeSummarizerImpl();
+        
+        assertArrayEquals(new int[] {-4, 1, 2, 3}, impl.collectToArray("3,+1,abc,2,-4,3,1"));
+        assertArrayEquals(new int[0], impl.collectToArray(null));
+        assertArrayEquals(new int[0], impl.collectToArray(" , "));
+    }
+
+    @Test
+    @DisplayName("summarize(int[], int) should use only the given prefix and leave the array untouched")
+    void testSummarizeIntArray() {
+        NumberRangeSummarizerImpl impl = new NumberRangeSummarizerImpl();
+        int[] values = {8, 1, 6, 7, 3, 3, 100};
+        
+        assertEquals("1, 3, 6-8", impl.summarize(values, 6));
+        assertArrayEquals(new int[] {8, 1, 6, 7, 3, 3, 100}, values);
+        assertEquals("", impl.summarize(values, 0));
+        assertEquals("", impl.summarize(null, 0));
+        assertThrows(IllegalArgumentException.class, () -> impl.summarize(values, 8));
+        assertThrows(IllegalArgumentException.class, () -> impl.summarize(values, -1));
+    }
+
+    @Test
+    @DisplayName("summarize(int[], int) should agree with summarizeCollection() on random input")
+    void testSummarizeIntArrayMatchesCollection() {
+        NumberRangeSummarizerImpl impl = new NumberRangeSummarizerImpl();
+        Random random = new Random(11);
+        int[] values = new int[5000];
+        List<Integer> boxed = new ArrayList<>();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt(8000) - 4000;
+            boxed.add(values[i]);
+        }
+        
+        assertEquals(impl.summarizeCollection(boxed), impl.summarize(values, values.length));
+    }
+
+    @Test
+    @DisplayName("summarizeCollection() should use sorted sets directly")
+    void testSummarizeSortedSets() {
+        NavigableSet<Integer> natural = new TreeSet<>(Arrays.asList(8, 1, 6, 7, 3));
+        SortedSet<Integer> reversed = new TreeSet<>(Collections.reverseOrder());
+        reversed.addAll(natural);
+        
+        assertEquals("1, 3, 6-8", summarizer.summarizeCollection(natural));
+        assertEquals("1, 3, 6-8", summarizer.summarizeCollection(reversed));
+    }
+
+    @Test
+    @DisplayName("summarizeCollection() should format integer limits exactly")
+    void testSummarizeIntegerLimitsExactFormat() {
+        Collection<Integer> input = Arrays.asList(Integer.MIN_VALUE, Integer.MIN_VALUE + 1, -10, 0,
+                                                Integer.MAX_VALUE - 1, Integer.MAX_VALUE);
+        String result = summarizer.summarizeCollection(input);
+        assertEquals("-2147483648--2147483647, -10, 0, 2147483646-2147483647", result);
+    }
+
+    @Test
+    @DisplayName("summarizeTo() should write the same text to Writers and other Appendables")
+    void testSummarizeToAppendable() throws IOException {
+        NumberRangeSummarizerImpl impl = new NumberRangeSummarizerImpl();
+        List<Integer> input = new ArrayList<>();
+        for (int i = -20000; i < 20000; i += 3) {
+            input.add(i);
+            input.add(i + 1);
+        }
+        String expected = impl.summarizeCollection(input);
+        
+        StringWriter writer = new StringWriter();
+        impl.summarizeTo(input, writer);
+        StringBuffer buffer = new StringBuffer("prefix:");
+        impl.summarizeTo(impl.collect("3,1,2"), buffer);
+        
+        assertEquals(expected, writer.toString());
+        assertEquals("prefix:1-3", buffer.toString());
+    }
+
+    @Test
+    @DisplayName("summarizeTo() should write nothing for empty input and reject a null target")
+    void testSummarizeToEdgeCases() throws IOException {
+        NumberRangeSummarizerImpl impl = new NumberRangeSummarizerImpl();
+        StringBuilder out = new StringBuilder();
+        
+        impl.summarizeTo(null, out);
+        impl.summarizeTo(Arrays.asList(null, null), out);
+        
+        assertEquals("", out.toString());
+        assertThrows(IllegalArgumentException.class, () -> impl.summarizeTo(Arrays.asList(1), null));
+    }
+
     // ===== INTEGRATION TESTS =====
 
     @Test
@@ -332,6 +668,48 @@ class NumberRangeSummarizerTest {
         assertEquals("", result);
     }
 
+    @ParameterizedTest
+    @ValueSource(strings = {"1,3,6,7,8,12,13,14,15,21,22,23,24,31", "3,,,4,,,,,,,6,,,,,,6,,,6,6,6,,,",
+                            "abc,1,def,2.5,3,xyz,4", "-10,-9,-8,-5,-3,-2,-1,1,2,3,5", "", " , "})
+    @DisplayName("summarize() should match summarizeCollection(collect())")
+    void testSummarizeFusedMatchesPipeline(String input) {
+        String expected = summarizer.summarizeCollection(summarizer.collect(input));
+        
+        assertEquals(expected, summarizer.summarize(input));
+        assertEquals(expected, summarizer.summarize(new StringBuilder(input)));
+    }
+
+    @Test
+    @DisplayName("summarize() default method should delegate to collect and summarizeCollection")
+    void testSummarizeDefaultMethod() {
+        NumberRangeSummarizer minimal = new NumberRangeSummarizer() {
+            @Override
+            public Collection<Integer> collect(String input) {
+                return summarizer.collect(input);
+            }
+
+            @Override
+            public String summarizeCollection(Collection<Integer> input) {
+                return summarizer.summarizeCollection(input);
+            }
+        };
+        
+        assertEquals("1, 3, 6-8", minimal.summarize("8,1,6,3,7"));
+        assertEquals("", minimal.summarize(null));
+    }
+
+    @Test
+    @DisplayName("summarize() should handle null and reject oversized input")
+    void testSummarizeFusedEdgeCases() {
+        StringBuilder largeInput = new StringBuilder();
+        for (int i = 0; i < 50001; i++) {
+            largeInput.append("12,");
+        }
+        
+        assertEquals("", summarizer.summarize(null));
+        assertThrows(IllegalArgumentException.class, () -> summarizer.summarize(largeInput));
+    }
+
     // ===== EDGE CASE TESTS =====
 
     @Test
@@ -0,0 +1,73 @@
+package com.numberrange;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the range summary collectors, sequential and parallel.
+ *
+ * @author Keuran Kisten
+ */
+class RangeCollectorsTest {
+
+    private final NumberRangeSummarizerImpl summarizer = new NumberRangeSummarizerImpl();
+
+    @Test
+    @DisplayName("toRangeSummary() should match summarizeCollection and skip nulls")
+    void testCollector() {
+        List<Integer> values = Arrays.asList(8, 1, null, -3, 7, -4, -5, 1, 6, 100, 2);
+
+        assertEquals("-5--3, 1-2, 6-8, 100", values.stream().collect(RangeCollectors.toRangeSummary()));
+        assertEquals("", Stream.<Integer>empty().collect(RangeCollectors.toRangeSummary()));
+        assertEquals("-2147483648, 2147483647",
+                     Stream.of(Integer.MAX_VALUE, Integer.MIN_VALUE).collect(RangeCollectors.toRangeSummary()));
+    }
+
+    @Test
+    @DisplayName("Accumulator memory should follow the ranges, not the values added")
+    void testAccumulatorStaysRangeSized() {
+        RangeAccumulator accumulator = new RangeAccumulator();
+        Random random = new Random(11);
+        for (int i = 0; i < 1_000_000; i++) {
+            accumulator.add(2 * random.nextInt(500));
+        }
+
+        // 500 ranges need 1000 ints; growth by half and the merge threshold allow up to about 3x that
+        assertTrue(accumulator.capacity() <= 4 * 1000, "capacity " + accumulator.capacity());
+        String summary = accumulator.summary();
+        assertTrue(summary.startsWith("0, 2, 4, "));
+        assertTrue(summary.endsWith(", 996, 998"));
+    }
+
+    @Test
+    @DisplayName("Parallel streams should join ranges across chunk boundaries")
+    void testParallelCollector() {
+        List<Integer> ascending = IntStream.rangeClosed(-50000, 50000).boxed().collect(Collectors.toList());
+        List<Integer> random = new Random(7).ints(200000, -30000, 30000).boxed().collect(Collectors.toList());
+
+        assertEquals("-50000-50000", ascending.parallelStream().collect(RangeCollectors.toRangeSummary()));
+        assertEquals(summarizer.summarizeCollection(random), random.parallelStream().collect(RangeCollectors.toRangeSummary()));
+    }
+
+    @Test
+    @DisplayName("summarize(IntStream) should handle sequential, parallel and unordered streams")
+    void testIntStream() {
+        int[] values = new Random(11).ints(100000, 0, 150000).toArray();
+        String expected = summarizer.summarize(values, values.length);
+
+        assertEquals(expected, RangeCollectors.summarize(Arrays.stream(values)));
+        assertEquals(expected, RangeCollectors.summarize(Arrays.stream(values).parallel()));
+        assertEquals("0-999999", RangeCollectors.summarize(IntStream.range(0, 1000000).parallel().map(i -> 999999 - i)));
+        assertEquals("", RangeCollectors.summarize(IntStream.empty()));
+        assertThrows(IllegalArgumentException.class, () -> RangeCollectors.summarize(null));
+    }
+}
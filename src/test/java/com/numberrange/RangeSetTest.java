@@ -0,0 +1,142 @@
+package com.numberrange;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the mutable range set. After every change its summary must equal
+ * what summarizeCollection produces for the same values.
+ *
+ * @author Keuran Kisten
+ */
+class RangeSetTest {
+
+    private final NumberRangeSummarizerImpl summarizer = new NumberRangeSummarizerImpl();
+
+    @Test
+    @DisplayName("Should merge and split ranges on add and remove")
+    void testAddRemove() {
+        RangeSet set = new RangeSet();
+
+        assertTrue(set.add(5));
+        assertTrue(set.add(7));
+        assertFalse(set.add(7));
+        assertEquals("5, 7", set.toSummaryString());
+        assertTrue(set.add(6));
+        assertEquals("5-7", set.toSummaryString());
+        assertEquals(1, set.rangeCount());
+
+        assertTrue(set.remove(6));
+        assertFalse(set.remove(6));
+        assertEquals("5, 7", set.toString());
+        assertEquals(2, set.size());
+        assertTrue(set.contains(7));
+        assertFalse(set.contains(6));
+    }
+
+    @Test
+    @DisplayName("Range operations should swallow, trim and split existing ranges")
+    void testRangeOperations() {
+        RangeSet set = new RangeSet();
+        set.addRange(1, 3);
+        set.addRange(10, 12);
+        set.addRange(20, 30);
+
+        assertTrue(set.addRange(4, 9));
+        assertEquals("1-12, 20-30", set.toSummaryString());
+        assertTrue(set.removeRange(5, 25));
+        assertEquals("1-4, 26-30", set.toSummaryString());
+        assertTrue(set.removeRange(-5, 1));
+        assertTrue(set.removeRange(28, 28));
+        assertEquals("2-4, 26-27, 29-30", set.toSummaryString());
+        assertEquals(7, set.size());
+        assertFalse(set.addRange(2, 3));
+        assertFalse(set.removeRange(100, 200));
+        assertThrows(IllegalArgumentException.class, () -> set.addRange(3, 2));
+
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertEquals("", set.toSummaryString());
+    }
+
+    @Test
+    @DisplayName("Should cover the whole int range without overflow")
+    void testIntLimits() {
+        RangeSet set = new RangeSet();
+        set.addRange(Integer.MIN_VALUE, Integer.MAX_VALUE);
+
+        assertEquals(1L << 32, set.size());
+        assertEquals("-2147483648-2147483647", set.toSummaryString());
+
+        set.remove(Integer.MIN_VALUE);
+        set.remove(Integer.MAX_VALUE);
+        set.remove(0);
+        assertEquals("-2147483647--1, 1-2147483646", set.toSummaryString());
+        assertEquals((1L << 32) - 3, set.size());
+    }
+
+    @Test
+    @DisplayName("Cached segments should stay consistent with summarizeCollection under random changes")
+    void testRandomChangesMatchSummarizer() {
+        Random random = new Random(42);
+        RangeSet set = new RangeSet();
+        TreeSet<Integer> reference = new TreeSet<>();
+
+        for (int step = 0; step < 3000; step++) {
+            int from = random.nextInt(2000) - 1000;
+            int to = from + random.nextInt(step % 10 == 0 ? 40 : 3);
+            boolean add = random.nextInt(3) != 0;
+
+            boolean changed = false;
+            for (int value = from; value <= to; value++) {
+                changed |= add ? reference.add(value) : reference.remove(value);
+            }
+            assertEquals(changed, add ? set.addRange(from, to) : set.removeRange(from, to));
+
+            if (step % 7 == 0) {
+                assertEquals(summarizer.summarizeCollection(reference), set.toSummaryString(), "step " + step);
+                assertEquals(reference.size(), set.size());
+            }
+        }
+        assertTrue(set.rangeCount() > 64, "several segments should be in use");
+        assertEquals(summarizer.summarizeCollection(reference), set.toSummaryString());
+    }
+
+    @Test
+    @DisplayName("A change should re-render only the segments around it")
+    void testUnchangedSegmentsReused() {
+        RangeSet set = new RangeSet();
+        TreeSet<Integer> reference = new TreeSet<>();
+        for (int i = 0; i < 100 * 64; i++) {
+            set.add(4 * i);
+            reference.add(4 * i);
+        }
+        set.toSummaryString();
+        assertEquals(100, set.segmentRenders());
+
+        // A new range in the first segment pushes one range past it
+        set.add(2);
+        reference.add(2);
+        assertEquals(summarizer.summarizeCollection(reference), set.toSummaryString());
+        assertEquals(102, set.segmentRenders());
+
+        // Merging two ranges in the middle only touches that segment
+        set.add(50 * 64 * 4 + 1);
+        set.addRange(50 * 64 * 4 + 2, 50 * 64 * 4 + 3);
+        reference.add(50 * 64 * 4 + 1);
+        reference.add(50 * 64 * 4 + 2);
+        reference.add(50 * 64 * 4 + 3);
+        assertEquals(summarizer.summarizeCollection(reference), set.toSummaryString());
+        assertEquals(103, set.segmentRenders());
+
+        set.remove(99 * 64 * 4 + 40);
+        reference.remove(99 * 64 * 4 + 40);
+        assertEquals(summarizer.summarizeCollection(reference), set.toSummaryString());
+        assertEquals(104, set.segmentRenders());
+    }
+}
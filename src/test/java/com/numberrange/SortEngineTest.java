@@ -0,0 +1,220 @@
+package com.numberrange;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the sort/dedupe engines. Every strategy must produce exactly
+ * what a plain sort followed by de-duplication produces.
+ * 
+ * @author Keuran Kisten
+ */
+class SortEngineTest {
+
+    private static int[] expected(int[] values) {
+        int[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return Arrays.copyOf(sorted, SortEngine.deduplicateSorted(sorted, sorted.length));
+    }
+
+    private static int[] run(SortStrategy strategy, int[] values) {
+        int[] copy = values.clone();
+        int unique = new SortEngine(strategy, 0, SortEngine.DEFAULT_BITMAP_SPAN_FACTOR).sortUnique(copy, copy.length);
+        return Arrays.copyOf(copy, unique);
+    }
+
+    private static int[] random(int count, int bound, int offset, long seed) {
+        Random random = new Random(seed);
+        int[] values = new int[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = bound > 0 ? offset + random.nextInt(bound) : random.nextInt();
+        }
+        return values;
+    }
+
+    // Shuffled input of the given size and bounds
+    private static SortEngine.Shape shape(int length, int min, int max) {
+        return new SortEngine.Shape(length, min, max, length / 2, length / 2);
+    }
+
+    @ParameterizedTest
+    @EnumSource(SortStrategy.class)
+    @DisplayName("Each strategy should sort full-range random values including negatives")
+    void testRandomFullRange(SortStrategy strategy) {
+        int[] values = random(50000, 0, 0, 1);
+        values[0] = Integer.MIN_VALUE;
+        values[1] = Integer.MAX_VALUE;
+        values[2] = -1;
+        values[3] = 0;
+        
+        assertArrayEquals(expected(values), run(strategy, values));
+    }
+
+    @ParameterizedTest
+    @EnumSource(SortStrategy.class)
+    @DisplayName("Each strategy should handle dense and duplicate-heavy values")
+    void testDenseAndDuplicates(SortStrategy strategy) {
+        int[] dense = random(30000, 40000, -20000, 2);
+        int[] duplicates = random(30000, 50, 1_000_000, 3);
+        
+        assertArrayEquals(expected(dense), run(strategy, dense));
+        assertArrayEquals(expected(duplicates), run(strategy, duplicates));
+    }
+
+    @ParameterizedTest
+    @EnumSource(SortStrategy.class)
+    @DisplayName("Each strategy should handle tiny inputs and identical values")
+    void testTinyInputs(SortStrategy strategy) {
+        assertArrayEquals(new int[0], run(strategy, new int[0]));
+        assertArrayEquals(new int[] {5}, run(strategy, new int[] {5}));
+        assertArrayEquals(new int[] {-3, 7}, run(strategy, new int[] {7, -3, 7, -3}));
+        assertArrayEquals(new int[] {9}, run(strategy, new int[] {9, 9, 9, 9, 9}));
+    }
+
+    @Test
+    @DisplayName("AUTO should switch to radix sort at the threshold")
+    void testAutoThreshold() {
+        SortEngine engine = new SortEngine(SortStrategy.AUTO, 100, 0);
+        
+        assertEquals(SortStrategy.COMPARISON, engine.choose(shape(99, 0, 1000)));
+        assertEquals(SortStrategy.RADIX, engine.choose(shape(100, 0, 1000)));
+    }
+
+    @Test
+    @DisplayName("AUTO should use the bitmap when the span is within the configured multiple")
+    void testAutoBitmapDensity() {
+        SortEngine engine = new SortEngine(SortStrategy.AUTO, 100, 4);
+        SortEngine explicit = new SortEngine(SortStrategy.BITMAP, 100, 0);
+        
+        assertEquals(SortStrategy.BITMAP, engine.choose(shape(1000, 5_000_000, 5_003_999)));
+        assertEquals(SortStrategy.RADIX, engine.choose(shape(1000, 5_000_000, 5_004_000)));
+        assertEquals(SortStrategy.BITMAP, explicit.choose(shape(1000, 0, 63_999)));
+        assertEquals(SortStrategy.RADIX, explicit.choose(shape(1000, Integer.MIN_VALUE, Integer.MAX_VALUE)));
+    }
+
+    @Test
+    @DisplayName("AUTO should use comparison sort for tiny inputs and the presorted path for nearly sorted ones")
+    void testAutoCostModel() {
+        SortEngine engine = SortEngine.DEFAULT;
+        int[] ascending = new int[10000];
+        for (int i = 0; i < ascending.length; i++) {
+            ascending[i] = i * 3;
+        }
+        ascending[500] = -7;
+        
+        SortEngine.Shape measured = SortEngine.measure(ascending, ascending.length);
+        
+        assertEquals(-7, measured.min);
+        assertEquals(29997, measured.max);
+        assertEquals(1, measured.descents);
+        assertEquals(1, measured.displaced);
+        assertEquals(SortStrategy.PRESORTED, engine.choose(measured));
+        assertEquals(SortStrategy.PRESORTED, engine.choose(new SortEngine.Shape(5, 0, 10, 0, 0)));
+        assertEquals(SortStrategy.COMPARISON, engine.choose(shape(31, 0, 10)));
+        assertEquals(SortStrategy.BITMAP, engine.choose(shape(32, 0, 10)));
+        assertEquals(SortStrategy.RADIX, engine.choose(shape(10000, Integer.MIN_VALUE, Integer.MAX_VALUE)));
+    }
+
+    @Test
+    @DisplayName("Presorted path should merge stragglers, spikes and duplicates")
+    void testPresortedStragglers() {
+        int[] ascending = new int[1000];
+        for (int i = 0; i < ascending.length; i++) {
+            ascending[i] = i / 2;
+        }
+        int[] dips = ascending.clone();
+        dips[10] = -5;
+        dips[500] = 3;
+        dips[999] = 0;
+        int[] spikes = ascending.clone();
+        spikes[0] = Integer.MAX_VALUE;
+        spikes[300] = 100_000;
+        spikes[301] = 100_000;
+        
+        for (int[] values : new int[][] {ascending, dips, spikes}) {
+            int[] copy = values.clone();
+            int unique = SortEngine.DEFAULT.mergeStragglersUnique(copy, SortEngine.measure(copy, copy.length));
+            assertArrayEquals(expected(values), Arrays.copyOf(copy, unique));
+            assertArrayEquals(expected(values), run(SortStrategy.PRESORTED, values));
+        }
+    }
+
+    @Test
+    @DisplayName("Presorted path should fall back to a full sort when too many values are out of order")
+    void testPresortedFallback() {
+        int[] values = new int[800];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i < 400 ? i + 1000 : i - 400; // two runs, the second below the first
+        }
+        int[] copy = values.clone();
+        int unique = SortEngine.DEFAULT.mergeStragglersUnique(copy, SortEngine.measure(copy, copy.length));
+        
+        assertArrayEquals(expected(values), Arrays.copyOf(copy, unique));
+    }
+
+    @Test
+    @DisplayName("AUTO should not treat a few overlapping sorted runs as nearly sorted")
+    void testAutoSortedRuns() {
+        // Shape of concatenated parallel chunk results: 16 sorted runs over the same range
+        int runs = 16;
+        int runLength = 4096;
+        int[] dense = new int[runs * runLength];
+        int[] sparse = new int[runs * runLength];
+        for (int run = 0; run < runs; run++) {
+            for (int i = 0; i < runLength; i++) {
+                dense[run * runLength + i] = i * runs + run;
+                sparse[run * runLength + i] = (i * runs + run) * 1000;
+            }
+        }
+        SortEngine.Shape denseShape = SortEngine.measure(dense, dense.length);
+        SortEngine.Shape sparseShape = SortEngine.measure(sparse, sparse.length);
+        
+        assertEquals(runs - 1, denseShape.descents);
+        assertTrue(denseShape.displaced > dense.length / 2);
+        assertEquals(SortStrategy.BITMAP, SortEngine.DEFAULT.choose(denseShape));
+        assertEquals(SortStrategy.RADIX, SortEngine.DEFAULT.choose(sparseShape));
+        assertArrayEquals(expected(dense), run(SortStrategy.AUTO, dense));
+        assertArrayEquals(expected(sparse), run(SortStrategy.AUTO, sparse));
+        assertArrayEquals(expected(dense), run(SortStrategy.PRESORTED, dense));
+    }
+
+    @Test
+    @DisplayName("Bitmap should read off runs across word boundaries and at the int limits")
+    void testBitmapRunsAndLimits() {
+        int[] high = {Integer.MAX_VALUE, Integer.MAX_VALUE - 1, Integer.MAX_VALUE - 70, Integer.MAX_VALUE - 64};
+        int[] low = {Integer.MIN_VALUE + 63, Integer.MIN_VALUE, Integer.MIN_VALUE + 64, Integer.MIN_VALUE + 65};
+        int[] longRun = new int[300];
+        for (int i = 0; i < longRun.length; i++) {
+            longRun[i] = 299 - i - 150;
+        }
+        
+        int[] sortedHigh = high.clone();
+        int[] sortedLow = low.clone();
+        int highCount = SortEngine.bitmapSortUnique(sortedHigh, 4, Integer.MAX_VALUE - 70, Integer.MAX_VALUE);
+        int lowCount = SortEngine.bitmapSortUnique(sortedLow, 4, Integer.MIN_VALUE, Integer.MIN_VALUE + 65);
+        
+        assertArrayEquals(expected(high), Arrays.copyOf(sortedHigh, highCount));
+        assertArrayEquals(expected(low), Arrays.copyOf(sortedLow, lowCount));
+        assertArrayEquals(expected(longRun), run(SortStrategy.BITMAP, longRun));
+    }
+
+    @Test
+    @DisplayName("Builder should apply strategies and reject invalid settings")
+    void testBuilder() {
+        NumberRangeSummarizerImpl radix = NumberRangeSummarizerImpl.builder()
+            .sortStrategy(SortStrategy.RADIX)
+            .build();
+        
+        assertEquals("-5--3, 1, 7-8", radix.summarize("8,1,-3,7,-4,-5,1"));
+        assertThrows(IllegalArgumentException.class, () -> NumberRangeSummarizerImpl.builder().sortStrategy(null));
+        assertThrows(IllegalArgumentException.class, () -> NumberRangeSummarizerImpl.builder().radixThreshold(-1));
+        assertThrows(IllegalArgumentException.class, () -> NumberRangeSummarizerImpl.builder().bitmapSpanFactor(-1));
+    }
+}
@@ -0,0 +1,148 @@
+package com.numberrange;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the metrics hooks: each phase a call performs must be reported
+ * once with the right counts, and the recording implementation must aggregate them.
+ *
+ * @author Keuran Kisten
+ */
+class SummarizerMetricsTest {
+
+    private final RecordingSummarizerMetrics metrics = new RecordingSummarizerMetrics();
+    private final NumberRangeSummarizerImpl summarizer = NumberRangeSummarizerImpl.builder()
+        .metrics(metrics)
+        .build();
+
+    @Test
+    @DisplayName("summarize() should report parse, sort and render")
+    void testSummarizePhases() {
+        assertEquals("1-3, 7", summarizer.summarize("3,1,2,2,x,7"));
+
+        assertEquals(1, metrics.getParseLatency().getCount());
+        assertEquals(1, metrics.getSortLatency().getCount());
+        assertEquals(1, metrics.getRenderLatency().getCount());
+        assertEquals(11, metrics.getInputLength());
+        assertEquals(6, metrics.getTokenCount());
+        assertEquals(1, metrics.getInvalidTokenCount());
+        assertEquals(1, metrics.getDuplicatesRemoved());
+        assertEquals(2, metrics.getRangeCount());
+    }
+
+    @Test
+    @DisplayName("collect() should report parse and sort with the chosen strategy")
+    void testCollectPhases() {
+        summarizer.collect("1,2,3,3");
+        summarizer.collect("9,8,7,6,5,4,3,2,1,0");
+
+        assertEquals(2, metrics.getParseLatency().getCount());
+        assertEquals(2, metrics.getSortLatency().getCount());
+        assertEquals(0, metrics.getRenderLatency().getCount());
+        assertEquals(1, metrics.getSortCount(SortStrategy.PRESORTED));
+        assertEquals(1, metrics.getSortCount(SortStrategy.COMPARISON));
+        assertEquals(1, metrics.getDuplicatesRemoved());
+    }
+
+    @Test
+    @DisplayName("Streaming inputs should report duplicates squeezed out while reading")
+    void testStreamingDuplicates() throws IOException {
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 50_000; i++) {
+            input.append(i % 10).append(',');
+        }
+        summarizer.collectFrom(new StringReader(input.toString()));
+
+        assertEquals(50_000, metrics.getTokenCount());
+        assertEquals(49_990, metrics.getDuplicatesRemoved());
+        assertEquals(input.length(), metrics.getInputLength());
+    }
+
+    @Test
+    @DisplayName("Byte streams should report their length in bytes")
+    void testInputStreamBytes() throws IOException {
+        byte[] bytes = "1,é,3".getBytes(StandardCharsets.UTF_8);
+        summarizer.collectFrom(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8);
+
+        assertEquals(bytes.length, metrics.getInputLength());
+        assertEquals(1, metrics.getInvalidTokenCount());
+    }
+
+    @Test
+    @DisplayName("Rendering alone should be reported for collections")
+    void testSummarizeCollection() {
+        assertEquals("1-2, 5", summarizer.summarizeCollection(Arrays.asList(5, 2, 1)));
+        assertEquals("1-2", summarizer.summarizeCollection(summarizer.collectRanges("1-2")));
+
+        assertEquals(2, metrics.getRenderLatency().getCount());
+        assertEquals(3, metrics.getRangeCount());
+        assertEquals(1, metrics.getParseLatency().getCount());
+    }
+
+    @Test
+    @DisplayName("Custom implementations should only see the phases they override")
+    void testCustomMetrics() {
+        List<SortStrategy> strategies = new ArrayList<>();
+        SummarizerMetrics custom = new SummarizerMetrics() {
+            @Override
+            public void recordSort(long nanos, SortStrategy strategy, long values, long duplicatesRemoved) {
+                assertTrue(nanos >= 0);
+                strategies.add(strategy);
+            }
+        };
+        NumberRangeSummarizerImpl instrumented = NumberRangeSummarizerImpl.builder().metrics(custom).build();
+
+        assertEquals("1-3", instrumented.summarize("1,2,3"));
+        assertEquals(Arrays.asList(SortStrategy.PRESORTED), strategies);
+    }
+
+    @Test
+    @DisplayName("Recorded counts should not wrap past Integer.MAX_VALUE")
+    void testLargeCounts() {
+        long tokens = Integer.MAX_VALUE + 10L;
+        metrics.recordParse(1, 2 * tokens, tokens, 3);
+        metrics.recordSort(1, SortStrategy.BITMAP, tokens - 3, tokens - 4);
+
+        assertEquals(tokens, metrics.getTokenCount());
+        assertEquals(3, metrics.getInvalidTokenCount());
+        assertEquals(tokens - 4, metrics.getDuplicatesRemoved());
+    }
+
+    @Test
+    @DisplayName("Histogram percentiles should be bucket upper bounds capped at the maximum")
+    void testHistogramPercentiles() {
+        RecordingSummarizerMetrics.Histogram histogram = metrics.getParseLatency();
+        assertEquals(0, histogram.percentileNanos(99));
+
+        for (int i = 0; i < 99; i++) {
+            metrics.recordParse(100, 1, 1, 0);
+        }
+        metrics.recordParse(5_000, 1, 1, 0);
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(14_900, histogram.getTotalNanos());
+        assertEquals(127, histogram.percentileNanos(50));
+        assertEquals(127, histogram.percentileNanos(99));
+        assertEquals(5_000, histogram.percentileNanos(100));
+        assertEquals(5_000, histogram.getMaxNanos());
+        assertTrue(metrics.toString().contains("p99=127ns"));
+        assertThrows(IllegalArgumentException.class, () -> histogram.percentileNanos(101));
+    }
+
+    @Test
+    @DisplayName("Null metrics should be rejected")
+    void testNullMetrics() {
+        assertThrows(IllegalArgumentException.class, () -> NumberRangeSummarizerImpl.builder().metrics(null));
+    }
+}
@@ -0,0 +1,80 @@
+package com.numberrange;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the executors behind the batch and server entry points. Tests run
+ * from class directories, so they see the base (Java 8) classes; the CI Java 21
+ * leg checks that the packaged multi-release JAR reports virtual threads.
+ *
+ * @author Keuran Kisten
+ */
+class TaskExecutorsTest {
+
+    @Test
+    @DisplayName("Task executor should run tasks on named threads")
+    void testTaskExecutor() throws Exception {
+        ExecutorService executor = TaskExecutors.newTaskExecutor("test-tasks", 2, 4);
+        try {
+            Future<String> name = executor.submit(() -> Thread.currentThread().getName());
+            assertTrue(name.get(5, TimeUnit.SECONDS).startsWith("test-tasks-"));
+            if (!TaskExecutors.virtualThreadsAvailable()) {
+                assertTrue(executor instanceof ThreadPoolExecutor);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Bounded executor should reject tasks once the queue is full")
+    void testBoundedExecutorRejects() throws Exception {
+        ThreadPoolExecutor executor = TaskExecutors.boundedExecutor("test-bounded", 1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            executor.execute(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            executor.execute(() -> { });
+
+            assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+            assertEquals(1, executor.getMaximumPoolSize());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Bounded and task executors should reject invalid settings on every runtime")
+    void testBoundedExecutorValidation() {
+        assertThrows(IllegalArgumentException.class, () -> TaskExecutors.boundedExecutor(null, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> TaskExecutors.boundedExecutor("x", 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> TaskExecutors.boundedExecutor("x", 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> TaskExecutors.newTaskExecutor(null, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> TaskExecutors.newTaskExecutor("x", 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> TaskExecutors.newTaskExecutor("x", 1, 0));
+    }
+
+    @Test
+    @DisplayName("Shared executor should be a single instance")
+    void testSharedExecutor() {
+        assertNotNull(TaskExecutors.sharedExecutor());
+        assertSame(TaskExecutors.sharedExecutor(), TaskExecutors.sharedExecutor());
+    }
+}
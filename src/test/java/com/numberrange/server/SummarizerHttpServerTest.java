@@ -0,0 +1,275 @@
+package com.numberrange.server;
+
+import com.numberrange.NumberRangeSummarizerImpl;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the embedded HTTP server and its load generator, against a server
+ * bound to a free local port.
+ *
+ * @author Keuran Kisten
+ */
+class SummarizerHttpServerTest {
+
+    private static final String NODELAY = "sun.net.httpserver.nodelay";
+
+    private static String previousNodelay;
+
+    private SummarizerHttpServer server;
+    private URL url;
+
+    @BeforeAll
+    static void enableNodelay() {
+        // Opt in as main() does, so load generator latencies are not delayed-ACK stalls
+        previousNodelay = System.setProperty(NODELAY, "true");
+    }
+
+    @AfterAll
+    static void restoreNodelay() {
+        if (previousNodelay == null) {
+            System.clearProperty(NODELAY);
+        } else {
+            System.setProperty(NODELAY, previousNodelay);
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new SummarizerHttpServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        server.start();
+        url = endpoint(server);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    private HttpURLConnection request(String method, String body) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setRequestMethod(method);
+        if (body != null) {
+            connection.setDoOutput(true);
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(body.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        return connection;
+    }
+
+    private static URL endpoint(SummarizerHttpServer server) throws IOException {
+        try {
+            return new URI("http", null, "127.0.0.1", server.getAddress().getPort(), SummarizerHttpServer.PATH,
+                           null, null).toURL();
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void restart(NumberRangeSummarizerImpl summarizer, ExecutorService executor,
+                         long maxBodySize) throws IOException {
+        server.close();
+        server = new SummarizerHttpServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+                                          summarizer, executor, maxBodySize);
+        server.start();
+        url = endpoint(server);
+    }
+
+    private static String read(HttpURLConnection connection) throws IOException {
+        return read(connection.getInputStream());
+    }
+
+    private static String readError(HttpURLConnection connection) throws IOException {
+        return read(connection.getErrorStream());
+    }
+
+    private static String read(InputStream stream) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (InputStream in = stream) {
+            byte[] buffer = new byte[1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                bytes.write(buffer, 0, read);
+            }
+        }
+        return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("POST should return the summary of the body")
+    void testPostSummarizes() throws IOException {
+        HttpURLConnection connection = request("POST", "1,3,6,7,8,12,13,14,15,21,22,23,24,31, abc");
+
+        assertEquals(200, connection.getResponseCode());
+        assertEquals("1, 3, 6-8, 12-15, 21-24, 31", read(connection));
+        assertEquals("", read(request("POST", "")));
+    }
+
+    @Test
+    @DisplayName("POST should stream large bodies beyond the String size limit")
+    void testLargeBody() throws IOException {
+        StringBuilder body = new StringBuilder();
+        for (int i = 200000; i > 0; i--) {
+            body.append(i).append(',');
+        }
+        NumberRangeSummarizerImpl summarizer = new NumberRangeSummarizerImpl();
+        String expected = summarizer.summarizeCollection(summarizer.collectFrom(new StringReader(body.toString())));
+
+        assertEquals(expected, read(request("POST", body.toString())));
+    }
+
+    @Test
+    @DisplayName("Methods other than POST should get 405")
+    void testMethodNotAllowed() throws IOException {
+        HttpURLConnection connection = request("GET", null);
+
+        assertEquals(405, connection.getResponseCode());
+        assertEquals("POST", connection.getHeaderField("Allow"));
+    }
+
+    @Test
+    @DisplayName("Bodies over the limit should get 413, by Content-Length or while streaming")
+    void testBodyTooLarge() throws IOException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            restart(new NumberRangeSummarizerImpl(), executor, 64);
+            StringBuilder large = new StringBuilder();
+            for (int i = 0; i < 50; i++) {
+                large.append(i).append(',');
+            }
+            String body = large.toString();
+
+            HttpURLConnection declared = request("POST", body);
+            assertEquals(413, declared.getResponseCode());
+            assertEquals("Request body exceeds 64 bytes\n", readError(declared));
+
+            HttpURLConnection chunked = (HttpURLConnection) url.openConnection();
+            chunked.setRequestMethod("POST");
+            chunked.setDoOutput(true);
+            chunked.setChunkedStreamingMode(16);
+            try (OutputStream out = chunked.getOutputStream()) {
+                out.write(body.getBytes(StandardCharsets.UTF_8));
+            }
+            assertEquals(413, chunked.getResponseCode());
+
+            assertEquals("1-3", read(request("POST", "3,2,1")));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Requests the executor rejects should get 503")
+    void testRejected() throws IOException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.shutdown();
+        restart(new NumberRangeSummarizerImpl(), executor, SummarizerHttpServer.DEFAULT_MAX_BODY_SIZE);
+
+        HttpURLConnection connection = request("POST", "1,2,3");
+        assertEquals(503, connection.getResponseCode());
+        assertEquals("Server busy, retry later\n", readError(connection));
+    }
+
+    @Test
+    @DisplayName("A stalled rejected upload should not stop other requests from being answered")
+    void testRejectedSlowUpload() throws IOException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.shutdown();
+        restart(new NumberRangeSummarizerImpl(), executor, SummarizerHttpServer.DEFAULT_MAX_BODY_SIZE);
+
+        try (Socket stalled = new Socket(InetAddress.getLoopbackAddress(), server.getAddress().getPort())) {
+            OutputStream out = stalled.getOutputStream();
+            out.write(("POST " + SummarizerHttpServer.PATH + " HTTP/1.1\r\nHost: localhost\r\n"
+                       + "Content-Length: 100000\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            connection.setConnectTimeout(5000);
+            connection.setReadTimeout(5000);
+            connection.setRequestMethod("POST");
+            connection.setDoOutput(true);
+            try (OutputStream body = connection.getOutputStream()) {
+                body.write("1,2,3".getBytes(StandardCharsets.UTF_8));
+            }
+            assertEquals(503, connection.getResponseCode());
+        }
+    }
+
+    @Test
+    @DisplayName("Summarizer failures should get 400 or 500 instead of a dropped connection")
+    void testSummarizerFailures() throws IOException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            restart(new NumberRangeSummarizerImpl() {
+                @Override
+                public Collection<Integer> collectFrom(InputStream in, Charset charset) throws IOException {
+                    String body = read(in);
+                    if (body.isEmpty()) {
+                        throw new IllegalStateException("broken");
+                    }
+                    throw new IllegalArgumentException("Rejected: " + body);
+                }
+            }, executor, SummarizerHttpServer.DEFAULT_MAX_BODY_SIZE);
+
+            HttpURLConnection invalid = request("POST", "1,2");
+            assertEquals(400, invalid.getResponseCode());
+            assertEquals("Rejected: 1,2\n", readError(invalid));
+
+            HttpURLConnection failed = request("POST", "");
+            assertEquals(500, failed.getResponseCode());
+            assertEquals("Could not summarize request\n", readError(failed));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Invalid body limits should be rejected")
+    void testInvalidBodyLimit() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            assertThrows(IllegalArgumentException.class, () -> new SummarizerHttpServer(
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), new NumberRangeSummarizerImpl(),
+                executor, 0));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Load generator should report throughput and latency percentiles")
+    void testLoadGenerator() throws Exception {
+        LoadGenerator.Report report = LoadGenerator.run(url, LoadGenerator.body(100), 4, 200);
+
+        assertEquals(200, report.getRequests());
+        assertEquals(0, report.getFailures());
+        assertTrue(report.getThroughput() > 0);
+        assertTrue(report.latencyMicros(50) <= report.latencyMicros(99));
+        assertTrue(report.toString().contains("p99="));
+    }
+}